@@ -0,0 +1,46 @@
+package hello.core.beanfind;
+
+import hello.core.AppConfig;
+import hello.core.AutoAppConfig;
+import hello.core.member.MemberService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스프링 컨테이너에서 빈을 꺼내는 비용, 수동 등록(AppConfig) vs 컴포넌트 스캔(AutoAppConfig)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class BeanLookupBenchmark {
+
+    @Param({"AppConfig", "AutoAppConfig"})
+    String config;
+
+    AnnotationConfigApplicationContext ac;
+
+    @Setup
+    public void setUp() {
+        ac = new AnnotationConfigApplicationContext("AppConfig".equals(config) ? AppConfig.class : AutoAppConfig.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ac.close();
+    }
+
+    @Benchmark
+    public MemberService getBeanByType() {
+        return ac.getBean(MemberService.class);
+    }
+}
@@ -0,0 +1,105 @@
+package hello.core.common;
+
+import hello.core.AutoAppConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.RequestScope;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 로거를 꺼내서 사용하는 비용, request 스코프 프록시(MyLogger) vs ThreadLocal(RequestLogHolder)
+ * 출력 비용을 빼기 위해 log 대신 값을 읽고 쓰는 메서드만 호출
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class RequestLogBenchmark {
+
+    AnnotationConfigApplicationContext ac;
+    MyLogger myLogger;
+
+    @Setup
+    public void setUp() {
+        ac = new AnnotationConfigApplicationContext(AutoAppConfig.class);
+        ac.getBeanFactory().registerScope("request", new RequestScope());
+        myLogger = ac.getBean(MyLogger.class);  //프록시
+
+        //요청 하나가 진행 중인 상태
+        RequestContextHolder.setRequestAttributes(new MapRequestAttributes());
+        RequestLogHolder.set(new RequestLog("uuid", "http://localhost:8080/log-demo"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        RequestLogHolder.clear();
+        ac.close();
+    }
+
+    @Benchmark
+    public void scopedProxy() {
+        myLogger.setRequestURL("http://localhost:8080/log-demo");
+    }
+
+    @Benchmark
+    public String threadLocal() {
+        return RequestLogHolder.get().getRequestURL();
+    }
+
+    //서블릿 요청 없이 request 스코프를 쓰기 위한 최소한의 RequestAttributes
+    static class MapRequestAttributes implements RequestAttributes {
+
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        @Override
+        public Object getAttribute(String name, int scope) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value, int scope) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name, int scope) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public String[] getAttributeNames(int scope) {
+            return attributes.keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public void registerDestructionCallback(String name, Runnable callback, int scope) {
+        }
+
+        @Override
+        public Object resolveReference(String key) {
+            return null;
+        }
+
+        @Override
+        public String getSessionId() {
+            return "benchmark";
+        }
+
+        @Override
+        public Object getSessionMutex() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package hello.core.member;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 저장소의 save / findById 처리량
+ * - findById, save : 4 스레드가 같은 저장소를 동시에 사용
+ * - mixed : 읽기 3 스레드 + 쓰기 1 스레드가 경합
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MemberRepositoryBenchmark {
+
+    static final int MEMBERS = 100_000;
+
+    @Param({"memory", "longKey"})
+    String repository;
+
+    MemberRepository memberRepository;
+    Member[] members;
+
+    @Setup
+    public void setUp() {
+        memberRepository = "memory".equals(repository) ? new MemoryMemberRepository() : new LongKeyMemberRepository(MEMBERS);
+        members = new Member[MEMBERS];
+        for (int i = 0; i < MEMBERS; i++) {
+            members[i] = new Member((long) i + 1, "member" + i, i % 2 == 0 ? Grade.VIP : Grade.BASIC);
+            memberRepository.save(members[i]);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Member findById() {
+        return memberRepository.findById(ThreadLocalRandom.current().nextLong(1, MEMBERS + 1));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void save() {
+        memberRepository.save(members[ThreadLocalRandom.current().nextInt(MEMBERS)]);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Member mixedFind() {
+        return findById();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedSave() {
+        save();
+    }
+}
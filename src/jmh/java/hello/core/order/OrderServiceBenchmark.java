@@ -0,0 +1,61 @@
+package hello.core.order;
+
+import hello.core.discount.DiscountPolicy;
+import hello.core.discount.FixDiscountPolicy;
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.LongKeyMemberRepository;
+import hello.core.member.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 할인 정책별 주문 생성 비용
+ * createOrder 와 Order 를 만들지 않는 priceOrder 의 gc.alloc.rate.norm 을 비교
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class OrderServiceBenchmark {
+
+    static final int MEMBERS = 1024;
+
+    @Param({"fix", "rate"})
+    String discountPolicy;
+
+    OrderService orderService;
+    long memberId;
+
+    @Setup
+    public void setUp() {
+        LongKeyMemberRepository memberRepository = new LongKeyMemberRepository(MEMBERS);
+        for (long id = 1; id <= MEMBERS; id++) {
+            memberRepository.save(new Member(id, "member" + id, id % 2 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        DiscountPolicy policy = "fix".equals(discountPolicy) ? new FixDiscountPolicy() : new RateDiscountPolicy();
+        orderService = new OrderServiceImpl(memberRepository, policy);
+    }
+
+    private long nextMemberId() {
+        memberId = memberId % MEMBERS + 1;
+        return memberId;
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        return orderService.createOrder(nextMemberId(), "itemA", 10000);
+    }
+
+    @Benchmark
+    public long priceOrder() {
+        return orderService.priceOrder(nextMemberId(), 10000);
+    }
+}
@@ -0,0 +1,63 @@
+package hello.core.web;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 실행 중인 서버에 동시 요청을 보내서 처리량과 지연 시간을 재는 부하 테스트
+ * 같은 요청을 hello.web.virtual-threads=false / true 로 띄운 서버에 각각 보내서 비교
+ *
+ * ./gradlew logDemoLoadTest -Purl=http://localhost:8080/log-demo-blocking?millis=100 -Pconcurrency=1000 -Prequests=20000
+ * 기본 톰캣(스레드 200개)은 요청당 100ms 를 기다리면 초당 약 2000건에서 멈추고, 가상 스레드는 동시 요청 수만큼 늘어남
+ */
+public class LogDemoLoadHarness {
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://localhost:8080/log-demo-blocking?millis=100";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 20_000;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+
+        //동시에 보내는 요청 수를 concurrency 로 제한
+        Semaphore inFlight = new Semaphore(concurrency);
+        long[] latencies = new long[requests];
+        AtomicInteger failures = new AtomicInteger();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            int index = i;
+            long sent = System.nanoTime();
+            futures[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, throwable) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (throwable != null || response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                        inFlight.release();
+                    });
+        }
+        CompletableFuture.allOf(futures).exceptionally(throwable -> null).join();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.println("url         = " + url);
+        System.out.println("concurrency = " + concurrency + ", requests = " + requests + ", failures = " + failures.get());
+        System.out.printf("throughput  = %.0f req/s%n", requests / (elapsed / 1e9));
+        System.out.printf("latency     = p50 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+                latencies[requests / 2] / 1e6, latencies[(int) (requests * 0.99)] / 1e6, latencies[requests - 1] / 1e6);
+    }
+}
@@ -54,17 +54,26 @@ public class AppConfig {
     public MemberRepository memberRepository() {
         System.out.println("call AppConfig.memberRepository");
         return new MemoryMemberRepository();
+        //return new LongKeyMemberRepository();  //회원 수가 많으면 박싱 없는 저장소로 변경
+        //return new OffHeapMemberRepository();  //회원 데이터를 힙 밖에 두어 GC 부담을 줄임
+        //return new FileMemberRepository(Paths.get("data", "member"));  //재시작해도 회원 유지
+        //return new CachingMemberRepository(new FileMemberRepository(Paths.get("data", "member")), 100_000, Duration.ofMinutes(10));
     }
 
     @Bean
     public OrderService orderService() {
         System.out.println("call AppConfig.orderService");
         return new OrderServiceImpl(memberRepository(), discountPolicy());
+        //return new ParallelOrderService(new OrderServiceImpl(memberRepository(), discountPolicy()), 1_000);  //대량 주문을 여러 코어로 나눠서 처리
     }
 
     @Bean
     public DiscountPolicy discountPolicy() {
         //return new FixDiscountPolicy();
         return new RateDiscountPolicy();    //할인 정책 변경, 구성 영역의 코드만 수정하면 됨, 사용 영역의 코드는 수정할 필요 없음
+        //return new RuleDiscountPolicy(DiscountRules.loadResource("discount-rules.properties"));  //설정 파일의 규칙으로 할인
+        //return new PrecomputedDiscountPolicy(new RateDiscountPolicy(), 100, 1_000_000);  //100원 단위 가격은 미리 계산한 표에서 조회
+        //return new CompositeDiscountPolicy(CompositeDiscountPolicy.Mode.BEST_OF, Arrays.asList(new FixDiscountPolicy(), new RateDiscountPolicy()));  //두 정책 중 큰 할인
+        //return new CachingDiscountPolicy(new RuleDiscountPolicy(DiscountRules.loadResource("discount-rules.properties")), 4096);  //(등급, 가격) 별 할인 금액 캐시
     }
 }
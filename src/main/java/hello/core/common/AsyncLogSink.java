@@ -0,0 +1,252 @@
+package hello.core.common;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * MyLogger 의 로그를 요청 스레드에서 바로 출력하지 않고 모아서 파일에 쓰는 비동기 로그 저장소
+ * System.out.println 은 stdout 에 락을 잡고 콘솔 I/O 가 끝날 때까지 요청 스레드를 붙잡음
+ *
+ * 링 버퍼 (여러 생산자, 소비자 하나)
+ * - 요청 스레드는 (uuid, URL, 메시지) 를 문자열 그대로 칸에 넣기만 함, 문자열 합치기와 인코딩은 소비자 스레드에서
+ * - 칸 번호는 CAS 로 확보하고 칸마다 순번(sequence)으로 쓰기 완료를 알림 -> 락 없음
+ * - 버퍼가 가득 차면 OverflowPolicy 에 따라 버리거나(DROP) 자리가 날 때까지 기다림(BLOCK)
+ *
+ * 소비자 스레드
+ * - 버퍼에서 꺼낸 로그를 "[uuid][URL] 메시지" 한 줄로 ByteBuffer 에 모아서, 가득 차거나 더 꺼낼 것이 없을 때 한번에 write
+ *
+ * hello.log.async.enabled=true 일 때만 빈으로 등록
+ * - hello.log.async.file     : 로그 파일 (기본 logs/request.log)
+ * - hello.log.async.capacity : 링 버퍼 칸 수 (기본 8192, 2의 거듭제곱으로 올림)
+ * - hello.log.async.policy   : DROP / BLOCK (기본 DROP)
+ */
+@Component
+@ConditionalOnProperty(prefix = "hello.log.async", name = "enabled", havingValue = "true")
+public class AsyncLogSink implements AutoCloseable {
+
+    public enum OverflowPolicy {
+        DROP, BLOCK
+    }
+
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+    private static final long IDLE_PARK_NANOS = 1_000_000;  //버퍼가 비었을 때 소비자가 쉬는 시간
+    private static final String DROPPED = new String("dropped");    //닫히는 중에 확보한 칸, 소비자는 쓰지 않고 넘어감 (참조로 비교)
+
+    private final int mask;
+    private final String[] uuids;
+    private final String[] requestURLs;
+    private final String[] messages;
+    private final AtomicLongArray sequences;   //칸이 비었으면 그 칸을 쓸 위치, 채워졌으면 위치 + 1
+    private final AtomicLong tail = new AtomicLong();
+    private long head;  //소비자 스레드만 사용
+
+    private final OverflowPolicy policy;
+    private final FileChannel channel;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+    private final Thread consumer;
+    private volatile boolean closed;
+
+    private final LongAdder droppedCount = new LongAdder();
+    private final AtomicLong writtenCount = new AtomicLong();
+
+    @Autowired
+    public AsyncLogSink(@Value("${hello.log.async.file:logs/request.log}") String file,
+                        @Value("${hello.log.async.capacity:8192}") int capacity,
+                        @Value("${hello.log.async.policy:DROP}") OverflowPolicy policy) {
+        this(Paths.get(file), capacity, policy);
+    }
+
+    public AsyncLogSink(Path file, int capacity, OverflowPolicy policy) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity 는 2 ~ 2^30 이어야 합니다.");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.mask = size - 1;
+        this.uuids = new String[size];
+        this.requestURLs = new String[size];
+        this.messages = new String[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.policy = policy;
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("로그 파일을 열 수 없습니다. " + file, e);
+        }
+        this.consumer = new Thread(this::consume, "async-log-sink");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * @return 버퍼가 가득 차서 버렸으면 false (DROP 정책)
+     */
+    public boolean log(String uuid, String requestURL, String message) {
+        long position;
+        while (true) {
+            if (closed) {
+                droppedCount.increment();
+                return false;
+            }
+            position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (sequence < position) {
+                //소비자가 아직 이 칸을 비우지 못함 -> 가득 참
+                if (policy == OverflowPolicy.DROP) {
+                    droppedCount.increment();
+                    return false;
+                }
+                LockSupport.parkNanos(1_000);
+            }
+            //sequence > position 이면 다른 생산자가 먼저 가져감, 다시 시도
+        }
+        int index = (int) position & mask;
+        if (closed) {
+            //칸을 확보하는 사이에 닫힘, 소비자가 마지막 확인을 이미 끝냈을 수 있으므로 버린 것으로 셈
+            //칸은 채워서 넘겨야 아직 끝나지 않은 소비자가 이 칸을 기다리지 않음
+            messages[index] = DROPPED;
+            sequences.set(index, position + 1);
+            droppedCount.increment();
+            return false;
+        }
+        uuids[index] = uuid;
+        requestURLs[index] = requestURL;
+        messages[index] = message;
+        sequences.set(index, position + 1);   //쓰기 완료, 소비자가 이 값을 보면 위의 필드도 보임
+        return true;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * 버퍼에 남은 로그를 모두 쓰고 파일을 닫음
+     */
+    @PreDestroy
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void consume() {
+        while (true) {
+            //닫힌 것을 본 뒤에 한번 더 비워야 그 전에 넣은 로그가 남지 않음
+            //closed 를 읽은 뒤에 tail 을 읽으므로, 그 사이에 칸을 확보한 생산자는 tail 에 보이거나(기다림) CAS 뒤에 closed 를 보고 버림
+            boolean wasClosed = closed;
+            int drained = drain();
+            if (drained == 0) {
+                if (wasClosed && head == tail.get()) {
+                    //칸을 확보하고 아직 쓰는 중인 생산자가 있으면 head != tail 이므로 기다림
+                    flush();
+                    return;
+                }
+                flush();
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private int drain() {
+        int drained = 0;
+        while (true) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                return drained;
+            }
+            String message = messages[index];
+            String line = message == DROPPED ? null : "[" + uuids[index] + "][" + requestURLs[index] + "] " + message + "\n";
+            uuids[index] = null;
+            requestURLs[index] = null;
+            messages[index] = null;
+            sequences.set(index, head + mask + 1);    //다음 바퀴에 생산자가 쓸 수 있음
+            head++;
+            if (line != null) {
+                write(line.getBytes(StandardCharsets.UTF_8));
+            }
+            drained++;
+        }
+    }
+
+    private void write(byte[] line) {
+        if (line.length > writeBuffer.remaining()) {
+            flush();
+        }
+        if (line.length > writeBuffer.capacity()) {
+            writeFully(ByteBuffer.wrap(line));
+        } else {
+            writeBuffer.put(line);
+        }
+        writtenCount.incrementAndGet();
+    }
+
+    private void flush() {
+        if (writeBuffer.position() == 0) {
+            return;
+        }
+        writeBuffer.flip();
+        writeFully(writeBuffer);
+        writeBuffer.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) {
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            //로그 때문에 요청 처리가 멈추지 않도록 버리고 계속
+            System.err.println("로그 파일에 쓸 수 없습니다. " + e);
+            buffer.position(buffer.limit());
+        }
+    }
+}
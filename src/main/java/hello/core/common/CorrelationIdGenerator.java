@@ -0,0 +1,10 @@
+package hello.core.common;
+
+/**
+ * 요청마다 로그에 붙이는 식별자 생성기
+ * hello.log.correlation-id 로 구현 선택 (fast : 기본값, uuid : UUID.randomUUID)
+ */
+public interface CorrelationIdGenerator {
+
+    String nextId();
+}
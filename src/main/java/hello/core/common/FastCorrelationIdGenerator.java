@@ -0,0 +1,50 @@
+package hello.core.common;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 시간 순서로 정렬되는 128 bit 식별자 생성기 (UUID version 7 형식)
+ * UUID.randomUUID 는 SecureRandom 을 사용해서 요청이 많으면 경합이 생기거나 엔트로피를 기다리며 멈출 수 있음
+ *
+ * - 상위 48 bit : 현재 시각(ms), 로그를 식별자 순으로 정렬하면 시간 순서
+ * - 나머지 74 bit : 스레드별 ThreadLocalRandom, 스레드 간 공유 상태가 없음
+ * - UUID 와 같은 36자 형식(8-4-4-4-12)으로 char 배열에 바로 16진수를 채우고 문자열은 마지막에 한번만 만듦
+ *
+ * 보안 토큰처럼 예측하기 어려워야 하는 용도에는 사용하면 안 됨
+ */
+@Component
+@ConditionalOnProperty(name = "hello.log.correlation-id", havingValue = "fast", matchIfMissing = true)
+public class FastCorrelationIdGenerator implements CorrelationIdGenerator {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Override
+    public String nextId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = System.currentTimeMillis() << 16 | 0x7000L | (random.nextInt() & 0x0FFF);   //version 7
+        long leastSigBits = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;             //variant 10
+
+        char[] chars = new char[36];
+        hex(chars, 0, mostSigBits >>> 32, 8);
+        chars[8] = '-';
+        hex(chars, 9, mostSigBits >>> 16, 4);
+        chars[13] = '-';
+        hex(chars, 14, mostSigBits, 4);
+        chars[18] = '-';
+        hex(chars, 19, leastSigBits >>> 48, 4);
+        chars[23] = '-';
+        hex(chars, 24, leastSigBits, 12);
+        return new String(chars);
+    }
+
+    //value 의 하위 digits 자리를 16진수로 offset 부터 채움
+    private static void hex(char[] chars, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX[(int) value & 0xF];
+            value >>>= 4;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package hello.core.common;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.stereotype.Component;
@@ -28,18 +29,36 @@ public class MyLogger {
 
     private String uuid;
     private String requestURL;
+    private AsyncLogSink logSink;
+    private CorrelationIdGenerator idGenerator;
+
+    //hello.log.async.enabled=true 로 AsyncLogSink 빈이 있으면 콘솔 대신 비동기로 파일에 기록
+    @Autowired(required = false)
+    public void setLogSink(AsyncLogSink logSink) {
+        this.logSink = logSink;
+    }
+
+    //초기화(@PostConstruct) 전에 주입되므로 init 에서 사용 가능, 없으면 UUID
+    @Autowired(required = false)
+    public void setIdGenerator(CorrelationIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
 
     public void setRequestURL(String requestURL) {
         this.requestURL = requestURL;
     }
 
     public void log(String message) {
+        if (logSink != null) {
+            logSink.log(uuid, requestURL, message);
+            return;
+        }
         System.out.println("[" + uuid + "]" + "[" + requestURL + "] " + message);
     }
 
     @PostConstruct
     public void init() {
-        uuid = UUID.randomUUID().toString();
+        uuid = idGenerator != null ? idGenerator.nextId() : UUID.randomUUID().toString();
         System.out.println("[" + uuid + "] request scope bean create : " + this);
     }
 
@@ -0,0 +1,38 @@
+package hello.core.common;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.function.Function;
+
+/**
+ * 리액티브 흐름에서 현재 요청의 RequestLog 를 꺼내고 남기는 도우미
+ * RequestLogHolder 는 스레드에 묶여 있어서 작업이 다른 스레드(타이머, 이벤트 루프)로 넘어가면 사라지지만,
+ * 여기서는 RequestLog 를 구독(subscribe) 시점의 Reactor Context 에 넣어두므로 어느 스레드에서 실행되어도 따라감
+ *
+ * 사용법
+ * - 흐름의 가장 바깥(컨트롤러)에서 subscriberContext(ReactiveRequestLog.with(requestLog)) 로 넣고
+ * - 안쪽(서비스)에서는 ReactiveRequestLog.log("...") 처럼 Mono 로 꺼내서 사용
+ */
+public final class ReactiveRequestLog {
+
+    private static final Class<RequestLog> KEY = RequestLog.class;
+
+    private ReactiveRequestLog() {
+    }
+
+    public static Function<Context, Context> with(RequestLog requestLog) {
+        return context -> context.put(KEY, requestLog);
+    }
+
+    public static Mono<RequestLog> current() {
+        return Mono.subscriberContext()
+                .flatMap(context -> context.hasKey(KEY)
+                        ? Mono.just(context.get(KEY))
+                        : Mono.error(new IllegalStateException("Context 에 RequestLog 가 없습니다.")));
+    }
+
+    public static Mono<Void> log(String message) {
+        return current().doOnNext(requestLog -> requestLog.log(message)).then();
+    }
+}
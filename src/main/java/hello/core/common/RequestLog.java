@@ -0,0 +1,43 @@
+package hello.core.common;
+
+/**
+ * HTTP 요청 하나의 로그 정보
+ * MyLogger 와 같은 내용을 남기지만 request 스코프 빈이 아니라 RequestLogFilter 가 요청마다 직접 만들어서
+ * RequestLogHolder 에 넣어둠 -> 사용하는 쪽은 프록시를 거치지 않고 현재 스레드의 객체를 바로 사용
+ * AsyncLogSink 가 있으면 MyLogger 와 같이 콘솔 대신 비동기로 파일에 기록
+ */
+public class RequestLog {
+
+    private final String uuid;
+    private final String requestURL;
+    private final AsyncLogSink logSink;
+
+    public RequestLog(String uuid, String requestURL) {
+        this(uuid, requestURL, null);
+    }
+
+    /**
+     * @param logSink null 이면 콘솔에 출력
+     */
+    public RequestLog(String uuid, String requestURL, AsyncLogSink logSink) {
+        this.uuid = uuid;
+        this.requestURL = requestURL;
+        this.logSink = logSink;
+    }
+
+    public void log(String message) {
+        if (logSink != null) {
+            logSink.log(uuid, requestURL, message);
+            return;
+        }
+        System.out.println("[" + uuid + "]" + "[" + requestURL + "] " + message);
+    }
+
+    public String getUuid() {
+        return uuid;
+    }
+
+    public String getRequestURL() {
+        return requestURL;
+    }
+}
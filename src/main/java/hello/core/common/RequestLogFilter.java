@@ -0,0 +1,48 @@
+package hello.core.common;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * 요청이 들어올 때 RequestLog 를 한번 만들어서 RequestLogHolder 에 넣고, 요청이 끝나면 제거
+ * 스프링 부트는 Filter 빈을 서블릿 필터로 자동 등록
+ */
+@Component
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    private CorrelationIdGenerator idGenerator;
+    private AsyncLogSink logSink;
+
+    @Autowired(required = false)
+    public void setIdGenerator(CorrelationIdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
+
+    //MyLogger 와 같이 AsyncLogSink 빈이 있으면 RequestLog 도 비동기로 파일에 기록
+    @Autowired(required = false)
+    public void setLogSink(AsyncLogSink logSink) {
+        this.logSink = logSink;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String uuid = idGenerator != null ? idGenerator.nextId() : UUID.randomUUID().toString();
+        RequestLog requestLog = new RequestLog(uuid, request.getRequestURL().toString(), logSink);
+        RequestLogHolder.set(requestLog);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            //스레드 풀의 스레드가 재사용되므로 반드시 제거
+            RequestLogHolder.clear();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package hello.core.common;
+
+/**
+ * 현재 요청의 RequestLog 를 스레드에 보관
+ * MyLogger 프록시는 호출할 때마다 RequestContextHolder 에서 요청 속성을 찾고 빈 이름으로 다시 꺼내지만,
+ * 여기서는 ThreadLocal 하나만 읽음
+ *
+ * 요청 시작/끝에 RequestLogFilter 가 set/clear 하므로 요청을 처리하는 스레드에서만 사용 가능
+ * 다른 스레드로 작업을 넘기면 RequestLog 를 함께 넘겨야 함
+ */
+public final class RequestLogHolder {
+
+    private static final ThreadLocal<RequestLog> CURRENT = new ThreadLocal<>();
+
+    private RequestLogHolder() {
+    }
+
+    public static RequestLog get() {
+        RequestLog requestLog = CURRENT.get();
+        if (requestLog == null) {
+            throw new IllegalStateException("요청을 처리하는 스레드가 아닙니다.");
+        }
+        return requestLog;
+    }
+
+    public static void set(RequestLog requestLog) {
+        CURRENT.set(requestLog);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,19 @@
+package hello.core.common;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * 기존 방식, 예측할 수 없는 식별자가 필요하면 hello.log.correlation-id=uuid 로 선택
+ */
+@Component
+@ConditionalOnProperty(name = "hello.log.correlation-id", havingValue = "uuid")
+public class UuidCorrelationIdGenerator implements CorrelationIdGenerator {
+
+    @Override
+    public String nextId() {
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,117 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 다른 DiscountPolicy 를 감싸서 (등급, 가격) 별 할인 금액을 기억하는 데코레이터
+ * 규칙이 많은 정책(RuleDiscountPolicy, CompositeDiscountPolicy 등)을 주문마다 다시 평가하지 않도록 함
+ *
+ * - 키 : 등급 ordinal(상위 32bit) + 가격(하위 32bit) 을 long 하나로 묶음
+ * - 캐시 : 크기가 2의 거듭제곱인 배열, 키 해시로 칸 하나를 정하고 충돌하면 새 값으로 덮어씀 (direct-mapped)
+ *   칸마다 불변 Entry 를 통째로 바꾸므로 락 없이 읽고 써도 키와 값이 어긋나지 않음
+ * - 무효화 : Entry 에 저장할 때의 delegate.rulesVersion() 을 함께 두고, 버전이 다르면 다시 계산
+ * - 등급이 없는 회원은 캐시하지 않음
+ *
+ * 상품명은 키에 들어가지 않으므로 상품 조건이 있는 규칙을 쓰는 정책에는 사용하면 안 됨
+ */
+public class CachingDiscountPolicy implements DiscountPolicy {
+
+    private final DiscountPolicy delegate;
+    private final AtomicReferenceArray<Entry> entries;
+    private final int mask;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * @param capacity 캐시 칸 수, 2의 거듭제곱으로 올림
+     */
+    public CachingDiscountPolicy(DiscountPolicy delegate, int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("capacity 는 1 ~ 2^30 이어야 합니다.");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.delegate = delegate;
+        this.entries = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public int discount(Member member, int price) {
+        Grade grade = member.getGrade();
+        if (grade == null) {
+            return delegate.discount(member, price);
+        }
+        long key = key(grade, price);
+        int slot = slot(key);
+        long version = delegate.rulesVersion();
+        Entry entry = entries.get(slot);
+        if (entry != null && entry.key == key && entry.version == version) {
+            hitCount.increment();
+            return entry.discount;
+        }
+        missCount.increment();
+        int discount = delegate.discount(member, price);
+        //계산 전에 읽은 버전으로 저장, 계산 중에 규칙이 바뀌었으면 다음 조회 때 버전이 달라서 다시 계산
+        entries.set(slot, new Entry(key, version, discount));
+        return discount;
+    }
+
+    @Override
+    public int discount(Member member, String itemName, int price) {
+        return discount(member, price);
+    }
+
+    @Override
+    public boolean supports(Grade grade) {
+        return delegate.supports(grade);
+    }
+
+    @Override
+    public long rulesVersion() {
+        return delegate.rulesVersion();
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private static long key(Grade grade, int price) {
+        return (long) grade.ordinal() << 32 | (price & 0xFFFFFFFFL);
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private static final class Entry {
+
+        private final long key;
+        private final long version;
+        private final int discount;
+
+        Entry(long key, long version, int discount) {
+            this.key = key;
+            this.version = version;
+            this.discount = discount;
+        }
+    }
+}
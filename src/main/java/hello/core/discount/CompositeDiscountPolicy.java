@@ -0,0 +1,180 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 여러 할인 정책을 하나로 묶는 정책
+ * AllBeanTest 의 DiscountService 처럼 이름으로 하나를 고르는 대신, 여러 정책을 정해진 방식으로 함께 적용
+ *
+ * 조합 방식 (Mode)
+ * - BEST_OF     : 가장 큰 할인, 할인이 가격과 같아지면 남은 정책은 계산하지 않음
+ * - STACK       : 할인을 모두 더함 (가격보다 커지지 않음), 가격에 도달하면 중단
+ * - FIRST_MATCH : 등록 순서대로 계산해서 처음으로 0 이 아닌 할인을 사용
+ *
+ * 등급별 체인
+ * - 정책마다 supports(grade) 로 해당 등급에 할인이 있을 수 있는지 확인해서, 등급별로 계산할 정책만 배열로 만들어둠
+ * - 하위 정책의 rulesVersion() 이 바뀌면 (규칙 재적재) 다음 계산 때 체인을 다시 만듦
+ *
+ * 실행 시간 기록
+ * - recordLatency 가 true 면 정책마다 LatencyHistogram 에 계산 시간을 기록, getLatency(index) 로 조회
+ *
+ * AppConfig 의 discountPolicy() 에서 조합할 정책들을 넘겨서 생성
+ */
+public class CompositeDiscountPolicy implements DiscountPolicy {
+
+    public enum Mode {
+        BEST_OF, STACK, FIRST_MATCH
+    }
+
+    private static final Grade[] GRADES = Grade.values();
+
+    private final Mode mode;
+    private final DiscountPolicy[] policies;
+    private final LatencyHistogram[] latencies;
+    private final Chain allPolicies;
+    private final AtomicReferenceArray<Chain> chains = new AtomicReferenceArray<>(GRADES.length);
+
+    public CompositeDiscountPolicy(Mode mode, List<DiscountPolicy> policies) {
+        this(mode, policies, false);
+    }
+
+    public CompositeDiscountPolicy(Mode mode, List<DiscountPolicy> policies, boolean recordLatency) {
+        if (policies.isEmpty()) {
+            throw new IllegalArgumentException("조합할 할인 정책이 없습니다.");
+        }
+        this.mode = mode;
+        this.policies = policies.toArray(new DiscountPolicy[0]);
+        this.latencies = recordLatency ? new LatencyHistogram[this.policies.length] : null;
+        if (recordLatency) {
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new LatencyHistogram();
+            }
+        }
+        int[] indexes = new int[this.policies.length];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        this.allPolicies = new Chain(0L, this.policies.clone(), indexes);
+    }
+
+    @Override
+    public int discount(Member member, int price) {
+        return discount(member, null, price);
+    }
+
+    @Override
+    public int discount(Member member, String itemName, int price) {
+        Chain chain = chainFor(member.getGrade());
+        DiscountPolicy[] chainPolicies = chain.policies;
+        long result = 0;
+        for (int i = 0; i < chainPolicies.length; i++) {
+            int discount = evaluate(chainPolicies[i], chain.indexes[i], member, itemName, price);
+            switch (mode) {
+                case BEST_OF:
+                    result = Math.max(result, discount);
+                    break;
+                case STACK:
+                    result += discount;
+                    break;
+                default:    //FIRST_MATCH
+                    if (discount != 0) {
+                        return discount;
+                    }
+            }
+            if (result >= price) {
+                break;
+            }
+        }
+        return (int) Math.min(result, price);
+    }
+
+    @Override
+    public boolean supports(Grade grade) {
+        for (DiscountPolicy policy : policies) {
+            if (policy.supports(grade)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 하위 정책의 버전 합, 어느 하나라도 규칙이 바뀌면 증가
+     */
+    @Override
+    public long rulesVersion() {
+        long version = 0;
+        for (DiscountPolicy policy : policies) {
+            version += policy.rulesVersion();
+        }
+        return version;
+    }
+
+    /**
+     * @param index 생성할 때 넘긴 정책 목록에서의 위치
+     * @return recordLatency 가 false 면 null
+     */
+    public LatencyHistogram getLatency(int index) {
+        return latencies == null ? null : latencies[index];
+    }
+
+    private int evaluate(DiscountPolicy policy, int index, Member member, String itemName, int price) {
+        if (latencies == null) {
+            return policy.discount(member, itemName, price);
+        }
+        long start = System.nanoTime();
+        try {
+            return policy.discount(member, itemName, price);
+        } finally {
+            latencies[index].record(System.nanoTime() - start);
+        }
+    }
+
+    private Chain chainFor(Grade grade) {
+        if (grade == null) {
+            return allPolicies;
+        }
+        long version = rulesVersion();
+        Chain chain = chains.get(grade.ordinal());
+        if (chain == null || chain.version != version) {
+            //여러 스레드가 동시에 만들어도 결과는 같으므로 마지막에 넣은 것을 사용
+            chain = buildChain(grade, version);
+            chains.set(grade.ordinal(), chain);
+        }
+        return chain;
+    }
+
+    private Chain buildChain(Grade grade, long version) {
+        List<Integer> selected = new ArrayList<>();
+        for (int i = 0; i < policies.length; i++) {
+            if (policies[i].supports(grade)) {
+                selected.add(i);
+            }
+        }
+        DiscountPolicy[] chainPolicies = new DiscountPolicy[selected.size()];
+        int[] indexes = new int[selected.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = selected.get(i);
+            chainPolicies[i] = policies[indexes[i]];
+        }
+        return new Chain(version, chainPolicies, indexes);
+    }
+
+    private static final class Chain {
+
+        private final long version;
+        private final DiscountPolicy[] policies;
+        private final int[] indexes;    //latencies 의 위치
+
+        Chain(long version, DiscountPolicy[] policies, int[] indexes) {
+            this.version = version;
+            this.policies = policies;
+            this.indexes = indexes;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package hello.core.discount;
 
+import hello.core.member.Grade;
 import hello.core.member.Member;
 
 public interface DiscountPolicy {
@@ -8,4 +9,38 @@ public interface DiscountPolicy {
      * @return 할인 대상 금액
      */
     int discount(Member member, int price);
+
+    /**
+     * 상품에 따라 할인이 달라지는 정책은 재정의, 기본은 상품명을 보지 않음
+     * @return 할인 대상 금액
+     */
+    default int discount(Member member, String itemName, int price) {
+        return discount(member, price);
+    }
+
+    /**
+     * 여러 주문의 할인 금액을 한번에 계산해서 discountPrices 에 채움
+     * 구현체는 회원 등급 확인을 반복문 안에서 가볍게 처리하도록 재정의
+     */
+    default void discountAll(Member[] members, String[] itemNames, int[] prices, int[] discountPrices) {
+        for (int i = 0; i < prices.length; i++) {
+            discountPrices[i] = discount(members[i], itemNames[i], prices[i]);
+        }
+    }
+
+    /**
+     * 해당 등급의 회원에게 할인이 있을 수 있는지, false 면 조합 정책에서 계산을 건너뜀
+     * 기본은 모든 등급에 true
+     */
+    default boolean supports(Grade grade) {
+        return true;
+    }
+
+    /**
+     * 할인 규칙이 바뀔 때마다 증가하는 값, 규칙이 고정된 정책은 항상 0
+     * 계산 결과를 미리 만들어두거나 캐시하는 쪽에서 다시 만들 시점을 판단할 때 사용
+     */
+    default long rulesVersion() {
+        return 0L;
+    }
 }
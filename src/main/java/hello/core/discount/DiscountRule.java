@@ -0,0 +1,38 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 할인 규칙 하나
+ * - grade : 적용할 회원 등급, null 이면 모든 등급
+ * - minPrice ~ maxPrice : 적용할 가격 범위 (양쪽 포함)
+ * - itemPattern : 적용할 상품명 정규식, null 이면 모든 상품
+ * - type / amount : FIX 면 amount 원, RATE 면 amount % 할인
+ * - priority : 큰 값부터 평가
+ * - stackable : true 면 다음 규칙도 계속 평가해서 할인을 더하고, false 면 이 규칙에서 평가를 멈춤
+ */
+@Getter
+@Builder
+@ToString
+public class DiscountRule {
+
+    private final String name;
+    private final Grade grade;
+    @Builder.Default
+    private final int minPrice = 0;
+    @Builder.Default
+    private final int maxPrice = Integer.MAX_VALUE;
+    private final String itemPattern;
+    private final DiscountType type;
+    private final int amount;
+    private final int priority;
+    private final boolean stackable;
+
+    public enum DiscountType {
+        FIX,
+        RATE
+    }
+}
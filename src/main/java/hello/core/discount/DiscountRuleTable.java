@@ -0,0 +1,129 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * DiscountRule 목록을 평가하기 쉬운 평평한 배열로 컴파일한 결정 테이블
+ * 회원 등급별로 적용될 수 있는 규칙만 우선순위 순서로 미리 나눠두고 (grade 가 null 인 규칙은 모든 등급에 복사)
+ * 평가할 때는 해당 등급 구간의 배열만 순서대로 훑음 -> 규칙 객체나 컬렉션을 따라가지 않음
+ * 생성 후에는 바뀌지 않으므로 여러 스레드가 함께 사용해도 됨
+ */
+public final class DiscountRuleTable {
+
+    private static final Grade[] GRADES = Grade.values();
+
+    private final int[] offsets;    //등급 ordinal 별 규칙 구간 [offsets[g], offsets[g + 1])
+    private final int[] minPrices;
+    private final int[] maxPrices;
+    private final boolean[] rates;
+    private final int[] amounts;
+    private final boolean[] stackables;
+    private final Pattern[] itemPatterns;
+    private final boolean[] gradeHasItemRule;
+
+    private DiscountRuleTable(int size) {
+        offsets = new int[GRADES.length + 1];
+        minPrices = new int[size];
+        maxPrices = new int[size];
+        rates = new boolean[size];
+        amounts = new int[size];
+        stackables = new boolean[size];
+        itemPatterns = new Pattern[size];
+        gradeHasItemRule = new boolean[GRADES.length];
+    }
+
+    public static DiscountRuleTable compile(List<DiscountRule> rules) {
+        rules.forEach(DiscountRuleTable::validate);
+        List<DiscountRule> sorted = new ArrayList<>(rules);
+        //우선순위가 같으면 입력 순서 유지 (stable sort)
+        sorted.sort(Comparator.comparingInt(DiscountRule::getPriority).reversed());
+
+        List<List<DiscountRule>> byGrade = new ArrayList<>();
+        int size = 0;
+        for (Grade grade : GRADES) {
+            List<DiscountRule> gradeRules = new ArrayList<>();
+            for (DiscountRule rule : sorted) {
+                if (rule.getGrade() == null || rule.getGrade() == grade) {
+                    gradeRules.add(rule);
+                }
+            }
+            byGrade.add(gradeRules);
+            size += gradeRules.size();
+        }
+
+        DiscountRuleTable table = new DiscountRuleTable(size);
+        int index = 0;
+        for (int g = 0; g < GRADES.length; g++) {
+            table.offsets[g] = index;
+            for (DiscountRule rule : byGrade.get(g)) {
+                table.minPrices[index] = rule.getMinPrice();
+                table.maxPrices[index] = rule.getMaxPrice();
+                table.rates[index] = rule.getType() == DiscountRule.DiscountType.RATE;
+                table.amounts[index] = rule.getAmount();
+                table.stackables[index] = rule.isStackable();
+                if (rule.getItemPattern() != null) {
+                    table.itemPatterns[index] = Pattern.compile(rule.getItemPattern());
+                    table.gradeHasItemRule[g] = true;
+                }
+                index++;
+            }
+        }
+        table.offsets[GRADES.length] = index;
+        return table;
+    }
+
+    /**
+     * @param itemName null 이면 상품 조건이 있는 규칙은 적용하지 않음
+     * @return 할인 금액, 가격보다 커지지 않음
+     */
+    public int discount(Grade grade, String itemName, int price) {
+        if (grade == null) {
+            return 0;
+        }
+        int g = grade.ordinal();
+        boolean checkItem = gradeHasItemRule[g];
+        long total = 0;
+        for (int i = offsets[g], end = offsets[g + 1]; i < end; i++) {
+            if (price < minPrices[i] || price > maxPrices[i]) {
+                continue;
+            }
+            if (checkItem && itemPatterns[i] != null
+                    && (itemName == null || !itemPatterns[i].matcher(itemName).matches())) {
+                continue;
+            }
+            total += rates[i] ? (long) price * amounts[i] / 100 : amounts[i];
+            if (!stackables[i]) {
+                break;
+            }
+        }
+        return (int) Math.min(total, price);
+    }
+
+    /**
+     * 해당 등급에 적용될 수 있는 규칙이 하나라도 있는지
+     */
+    public boolean hasRules(Grade grade) {
+        return offsets[grade.ordinal()] < offsets[grade.ordinal() + 1];
+    }
+
+    public int size() {
+        return offsets[GRADES.length];
+    }
+
+    private static void validate(DiscountRule rule) {
+        if (rule.getType() == null) {
+            throw new IllegalArgumentException("할인 방식(type)이 없습니다. rule = " + rule.getName());
+        }
+        if (rule.getAmount() < 0 || (rule.getType() == DiscountRule.DiscountType.RATE && rule.getAmount() > 100)) {
+            throw new IllegalArgumentException("할인 값이 올바르지 않습니다. rule = " + rule.getName());
+        }
+        if (rule.getMinPrice() > rule.getMaxPrice()) {
+            throw new IllegalArgumentException("가격 범위가 올바르지 않습니다. rule = " + rule.getName());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package hello.core.discount;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 할인 규칙 파일을 감시하다가 바뀌면 RuleDiscountPolicy 의 규칙을 다시 읽어서 교체
+ * 재시작 없이 할인율 등을 바꿀 수 있음
+ *
+ * - 감시는 데몬 스레드 하나에서 WatchService 로 처리, 주문 처리 스레드와는 관계 없음
+ * - 편집기가 임시 파일을 만들고 이름을 바꾸는 방식으로 저장해도 감지하도록 생성/수정 이벤트를 모두 확인
+ * - 새 규칙을 읽다가 실패하면 기존 규칙을 그대로 사용
+ *
+ * 스프링 빈으로 등록하면 close() 가 종료 메서드로 자동 호출됨
+ */
+public class DiscountRuleWatcher implements AutoCloseable {
+
+    private static final long QUIET_PERIOD_MILLIS = 100;
+
+    private final Path rulesFile;
+    private final RuleDiscountPolicy discountPolicy;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public DiscountRuleWatcher(Path rulesFile, RuleDiscountPolicy discountPolicy) {
+        this.rulesFile = rulesFile.toAbsolutePath();
+        this.discountPolicy = discountPolicy;
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.rulesFile.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new UncheckedIOException("할인 규칙 파일을 감시할 수 없습니다. " + rulesFile, e);
+        }
+        this.thread = new Thread(this::watch, "discount-rule-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * 파일을 바로 다시 읽음
+     * @return 교체에 성공하면 true
+     */
+    public boolean reload() {
+        try {
+            discountPolicy.updateRules(DiscountRules.load(rulesFile));
+            System.out.println("discount rules reloaded : " + rulesFile + " version = " + discountPolicy.getVersion());
+            return true;
+        } catch (RuntimeException e) {
+            System.out.println("discount rules reload failed, keep previous rules : " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || rulesFile.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                boolean changed = drain(watchService.take());
+                //파일을 쓰는 중간에 읽지 않도록, 이벤트가 잠잠해질 때까지 잠시 기다린 뒤 한번만 다시 읽음
+                WatchKey next;
+                while ((next = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(next);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            //close() 호출로 종료
+        }
+    }
+}
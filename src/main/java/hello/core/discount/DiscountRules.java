@@ -0,0 +1,111 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * properties 형식의 설정에서 할인 규칙을 읽음
+ *
+ * rule.{이름}.type=FIX | RATE     (필수)
+ * rule.{이름}.amount=1000         (필수, FIX 는 원, RATE 는 %)
+ * rule.{이름}.grade=VIP           (생략하면 모든 등급)
+ * rule.{이름}.minPrice=0          (생략하면 0)
+ * rule.{이름}.maxPrice=50000      (생략하면 제한 없음)
+ * rule.{이름}.item=item[AB]       (상품명 정규식, 생략하면 모든 상품)
+ * rule.{이름}.priority=10         (생략하면 0, 큰 값부터 평가)
+ * rule.{이름}.stackable=true      (생략하면 false)
+ */
+public final class DiscountRules {
+
+    private static final String PREFIX = "rule.";
+
+    private DiscountRules() {
+    }
+
+    public static List<DiscountRule> load(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("할인 규칙 파일을 읽을 수 없습니다. " + file, e);
+        }
+    }
+
+    //클래스패스의 설정 파일, 예) "discount-rules.properties"
+    public static List<DiscountRule> loadResource(String resource) {
+        try (InputStream in = DiscountRules.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("할인 규칙 파일이 없습니다. " + resource);
+            }
+            return load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("할인 규칙 파일을 읽을 수 없습니다. " + resource, e);
+        }
+    }
+
+    public static List<DiscountRule> load(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return load(properties);
+    }
+
+    public static List<DiscountRule> load(Properties properties) {
+        TreeSet<String> names = new TreeSet<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(PREFIX) && key.indexOf('.', PREFIX.length()) > 0) {
+                names.add(key.substring(PREFIX.length(), key.indexOf('.', PREFIX.length())));
+            }
+        }
+
+        List<DiscountRule> rules = new ArrayList<>();
+        for (String name : names) {
+            String prefix = PREFIX + name + ".";
+            try {
+                DiscountRule.DiscountRuleBuilder builder = DiscountRule.builder()
+                        .name(name)
+                        .type(DiscountRule.DiscountType.valueOf(required(properties, prefix + "type").toUpperCase()))
+                        .amount(Integer.parseInt(required(properties, prefix + "amount")))
+                        .itemPattern(properties.getProperty(prefix + "item"))
+                        .priority(Integer.parseInt(properties.getProperty(prefix + "priority", "0").trim()))
+                        .stackable(Boolean.parseBoolean(properties.getProperty(prefix + "stackable", "false").trim()));
+                String grade = properties.getProperty(prefix + "grade");
+                if (grade != null && !grade.isBlank()) {
+                    builder.grade(Grade.valueOf(grade.trim().toUpperCase()));
+                }
+                String minPrice = properties.getProperty(prefix + "minPrice");
+                if (minPrice != null) {
+                    builder.minPrice(Integer.parseInt(minPrice.trim()));
+                }
+                String maxPrice = properties.getProperty(prefix + "maxPrice");
+                if (maxPrice != null) {
+                    builder.maxPrice(Integer.parseInt(maxPrice.trim()));
+                }
+                rules.add(builder.build());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("할인 규칙 설정이 올바르지 않습니다. rule = " + name, e);
+            }
+        }
+        return rules;
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(key + " 설정이 없습니다.");
+        }
+        return value.trim();
+    }
+}
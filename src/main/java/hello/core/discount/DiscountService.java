@@ -0,0 +1,72 @@
+package hello.core.discount;
+
+import hello.core.member.Member;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 할인 코드(빈 이름)로 할인 정책을 골라서 적용하는 서비스
+ * AllBeanTest 의 DiscountService 는 주문마다 Map 에서 문자열로 찾으므로 매번 문자열 해시와 비교가 일어남
+ *
+ * - 생성할 때 코드를 이름순으로 정렬해서 0, 1, 2 ... 의 번호를 붙이고 정책은 같은 번호의 배열 칸에 둠
+ * - 클라이언트는 resolveCode 로 번호를 한번 받아두고, 주문마다 번호로 배열에서 바로 꺼내서 계산
+ * - 번호는 등록된 코드가 같으면 항상 같음
+ */
+@Component
+public class DiscountService {
+
+    private final String[] codes;
+    private final DiscountPolicy[] policies;
+    private final Map<String, Integer> codeIds;
+
+    @Autowired
+    public DiscountService(Map<String, DiscountPolicy> policyMap) {
+        this.codes = policyMap.keySet().toArray(new String[0]);
+        Arrays.sort(codes);
+        this.policies = new DiscountPolicy[codes.length];
+        this.codeIds = new HashMap<>();
+        for (int id = 0; id < codes.length; id++) {
+            policies[id] = policyMap.get(codes[id]);
+            codeIds.put(codes[id], id);
+        }
+    }
+
+    /**
+     * @return 할인 코드 번호, 주문마다 문자열을 넘기지 않도록 한번만 조회해서 보관
+     */
+    public int resolveCode(String discountCode) {
+        Integer id = codeIds.get(discountCode);
+        if (id == null) {
+            throw new IllegalArgumentException("등록되지 않은 할인 코드입니다. discountCode = " + discountCode);
+        }
+        return id;
+    }
+
+    public int discount(Member member, String itemName, int price, int discountCodeId) {
+        return policyOf(discountCodeId).discount(member, itemName, price);
+    }
+
+    public int discount(Member member, int price, String discountCode) {
+        return policies[resolveCode(discountCode)].discount(member, price);
+    }
+
+    public DiscountPolicy policyOf(int discountCodeId) {
+        if (discountCodeId < 0 || discountCodeId >= policies.length) {
+            throw new IllegalArgumentException("잘못된 할인 코드 번호입니다. discountCodeId = " + discountCodeId);
+        }
+        return policies[discountCodeId];
+    }
+
+    public String codeOf(int discountCodeId) {
+        policyOf(discountCodeId);
+        return codes[discountCodeId];
+    }
+
+    public int size() {
+        return codes.length;
+    }
+}
@@ -0,0 +1,70 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+
+/**
+ * 등급과 가격대별 할인 금액을 시작할 때 미리 계산해두는 정책
+ * 상품 가격이 정해진 단위(예: 100원)로만 존재하면 할인 계산이 배열 인덱스 조회 한번으로 끝남
+ *
+ * - 표 : [등급 ordinal][price / priceStep] -> 할인 금액, 1차원 int 배열 하나로 저장
+ * - 0 ~ maxPrice 사이이고 priceStep 으로 나누어 떨어지는 가격만 표에서 찾음
+ * - 그 밖의 가격이나 등급이 없는 회원은 원래 정책(delegate)으로 계산
+ *
+ * 할인이 등급과 가격에만 달라지는 정책에만 사용해야 함 (상품명은 보지 않음)
+ * 원래 정책의 규칙이 바뀌면 표를 다시 만들어야 하므로 새로 생성해서 교체
+ */
+public class PrecomputedDiscountPolicy implements DiscountPolicy {
+
+    private static final Grade[] GRADES = Grade.values();
+
+    private final DiscountPolicy delegate;
+    private final int priceStep;
+    private final int maxPrice;
+    private final int buckets;
+    private final int[] table;
+
+    public PrecomputedDiscountPolicy(DiscountPolicy delegate, int priceStep, int maxPrice) {
+        if (priceStep < 1 || maxPrice < 0) {
+            throw new IllegalArgumentException("priceStep 은 1 이상, maxPrice 는 0 이상이어야 합니다.");
+        }
+        long size = ((long) maxPrice / priceStep + 1) * GRADES.length;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("할인 표가 너무 큽니다. priceStep 을 늘리거나 maxPrice 를 줄여야 합니다.");
+        }
+        this.delegate = delegate;
+        this.priceStep = priceStep;
+        this.maxPrice = maxPrice;
+        this.buckets = maxPrice / priceStep + 1;
+        this.table = new int[(int) size];
+
+        for (Grade grade : GRADES) {
+            Member probe = new Member(0L, null, grade);
+            int base = grade.ordinal() * buckets;
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                table[base + bucket] = delegate.discount(probe, bucket * priceStep);
+            }
+        }
+    }
+
+    @Override
+    public int discount(Member member, int price) {
+        Grade grade = member.getGrade();
+        if (grade == null || price < 0 || price > maxPrice || price % priceStep != 0) {
+            return delegate.discount(member, price);
+        }
+        return table[grade.ordinal() * buckets + price / priceStep];
+    }
+
+    @Override
+    public boolean supports(Grade grade) {
+        return delegate.supports(grade);
+    }
+
+    @Override
+    public void discountAll(Member[] members, String[] itemNames, int[] prices, int[] discountPrices) {
+        for (int i = 0; i < prices.length; i++) {
+            discountPrices[i] = discount(members[i], prices[i]);
+        }
+    }
+}
@@ -18,7 +18,31 @@ public class RateDiscountPolicy implements DiscountPolicy{
 
     @Override
     public int discount(Member member, int price) {
-        if(member.getGrade() == Grade.VIP) {
+        return discount(member.getGrade(), price);
+    }
+
+    @Override
+    public boolean supports(Grade grade) {
+        return grade == Grade.VIP;
+    }
+
+    @Override
+    public void discountAll(Member[] members, String[] itemNames, int[] prices, int[] discountPrices) {
+        Member member = null;
+        Grade grade = null;
+        for (int i = 0; i < prices.length; i++) {
+            //같은 회원의 주문이 이어지는 동안은 등급을 다시 읽지 않음
+            if (members[i] != member) {
+                member = members[i];
+                grade = member.getGrade();
+            }
+            discountPrices[i] = discount(grade, prices[i]);
+        }
+    }
+
+    //discount 와 discountAll 이 함께 쓰는 할인 계산
+    private int discount(Grade grade, int price) {
+        if(grade == Grade.VIP) {
             return price * discountPercent / 100;
         } else {
             return 0;
@@ -0,0 +1,64 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+
+import java.util.List;
+
+/**
+ * 설정에서 읽은 할인 규칙으로 할인하는 정책
+ * 새로운 할인 행사가 생겨도 FixDiscountPolicy, RateDiscountPolicy 처럼 클래스를 새로 만들지 않고 규칙만 추가
+ * 규칙은 DiscountRuleTable 로 컴파일해서 주문마다 배열 몇 개만 훑음
+ *
+ * 규칙 변경
+ * - updateRules 는 새 테이블을 모두 만든 뒤 volatile 참조 하나만 바꿈
+ * - 할인 계산은 락 없이 그 시점의 테이블을 읽으므로, 변경 중에도 주문 처리가 멈추지 않고
+ *   하나의 주문은 항상 이전 규칙이나 새 규칙 중 하나로만 계산됨
+ * - 파일 변경을 감지해서 자동으로 바꾸려면 DiscountRuleWatcher 사용
+ *
+ * AppConfig 의 discountPolicy() 에서 DiscountRules.load(...) 결과로 생성해서 사용
+ */
+public class RuleDiscountPolicy implements DiscountPolicy {
+
+    private volatile DiscountRuleTable table;
+    private volatile long version;
+
+    public RuleDiscountPolicy(List<DiscountRule> rules) {
+        this.table = DiscountRuleTable.compile(rules);
+    }
+
+    @Override
+    public int discount(Member member, int price) {
+        return table.discount(member.getGrade(), null, price);
+    }
+
+    @Override
+    public int discount(Member member, String itemName, int price) {
+        return table.discount(member.getGrade(), itemName, price);
+    }
+
+    @Override
+    public boolean supports(Grade grade) {
+        return grade != null && table.hasRules(grade);
+    }
+
+    /**
+     * 규칙을 새로 컴파일해서 교체, 규칙이 잘못되었으면 예외가 발생하고 기존 규칙을 그대로 사용
+     */
+    public synchronized void updateRules(List<DiscountRule> rules) {
+        table = DiscountRuleTable.compile(rules);
+        version++;  //테이블을 바꾼 뒤에 올려야 새 버전을 본 스레드가 새 테이블을 봄
+    }
+
+    /**
+     * 규칙이 바뀔 때마다 증가
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long rulesVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,364 @@
+package hello.core.member;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * 다른 MemberRepository 를 감싸서 조회 결과를 캐시하는 데코레이터
+ * 메모리 맵보다 느린 저장소(파일 등)를 쓸 때 OrderServiceImpl.createOrder 마다 저장소까지 가지 않도록 함
+ *
+ * - 캐시 : id 해시로 나눈 세그먼트별 segmented LRU (SLRU), 세그먼트마다 락을 따로 잡아서 경합을 줄임
+ *   - 새 엔트리는 probation 구간에 들어가고, probation 에서 한번 더 조회되면 protected 구간으로 승격
+ *   - protected 구간은 전체의 80% 까지, 넘치면 가장 오래 안 쓴 엔트리를 probation 으로 내림
+ *   - 넘치면 probation 에서 가장 오래 안 쓴 엔트리부터 제거 -> 한번씩만 읽는 전체 조회가 자주 쓰는 회원을 밀어내지 않음
+ * - 크기 : 전체 최대 무게를 세그먼트 수로 나눠서 제한, weigher 를 주지 않으면 엔트리 하나의 무게는 1 (= 엔트리 수)
+ * - TTL : 지정하면 저장/적재 후 그 시간이 지난 엔트리는 다시 저장소에서 읽음
+ * - 저장 : write-through, 저장소에 먼저 쓰고 캐시도 함께 갱신
+ * - 적재 : 저장소에서 읽은 회원은 그 사이 같은 세그먼트에 저장/제거가 없었을 때만 캐시에 넣음 (이미 있으면 덮어쓰지 않음)
+ *   -> 늦게 끝난 조회가 방금 저장한 새 값을 예전 값으로 덮어쓰지 않음
+ * - 없는 회원(null)은 캐시하지 않음
+ *
+ * AppConfig 의 memberRepository() 에서 원하는 저장소를 감싸서 사용
+ */
+public class CachingMemberRepository implements MemberRepository {
+
+    private static final int SEGMENTS = 16;
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final MemberRepository delegate;
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long ttlNanos;
+    private final ToIntFunction<Member> weigher;
+    private final LongSupplier nanoClock;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public CachingMemberRepository(MemberRepository delegate, int maximumSize) {
+        this(delegate, maximumSize, Duration.ZERO);
+    }
+
+    /**
+     * @param ttl Duration.ZERO 이면 시간으로는 만료하지 않음
+     */
+    public CachingMemberRepository(MemberRepository delegate, int maximumSize, Duration ttl) {
+        this(delegate, maximumSize, ttl, member -> 1);
+    }
+
+    /**
+     * @param maximumWeight 캐시에 담을 회원 무게의 합
+     * @param weigher 회원 하나의 무게, 0 이상
+     */
+    public CachingMemberRepository(MemberRepository delegate, long maximumWeight, Duration ttl, ToIntFunction<Member> weigher) {
+        this(delegate, maximumWeight, ttl, weigher, System::nanoTime);
+    }
+
+    CachingMemberRepository(MemberRepository delegate, int maximumSize, Duration ttl, LongSupplier nanoClock) {
+        this(delegate, maximumSize, ttl, member -> 1, nanoClock);
+    }
+
+    CachingMemberRepository(MemberRepository delegate, long maximumWeight, Duration ttl, ToIntFunction<Member> weigher,
+                            LongSupplier nanoClock) {
+        if (maximumWeight < SEGMENTS) {
+            throw new IllegalArgumentException("maximumSize 는 " + SEGMENTS + " 이상이어야 합니다.");
+        }
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+        this.weigher = weigher;
+        this.nanoClock = nanoClock;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(maximumWeight / SEGMENTS);
+        }
+    }
+
+    @Override
+    public void save(Member member) {
+        delegate.save(member);
+        cache(member.getId(), member);
+    }
+
+    @Override
+    public void saveAll(Collection<Member> members) {
+        delegate.saveAll(members);
+        for (Member member : members) {
+            cache(member.getId(), member);
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        return findById(memberId.longValue());
+    }
+
+    @Override
+    public Member findById(long memberId) {
+        Segment segment = segmentFor(memberId);
+        Member cached = segment.get(memberId);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        missCount.increment();
+        long writeCount = segment.writeCount();
+        Member member = delegate.findById(memberId);
+        if (member != null) {
+            load(segment, writeCount, memberId, member);
+        }
+        return member;
+    }
+
+    /**
+     * 캐시에 없는 id 만 모아서 저장소에는 한번만 요청
+     */
+    @Override
+    public Member[] findAllById(long[] memberIds) {
+        Member[] members = new Member[memberIds.length];
+        int missing = 0;
+        for (int i = 0; i < memberIds.length; i++) {
+            members[i] = segmentFor(memberIds[i]).get(memberIds[i]);
+            if (members[i] == null) {
+                missing++;
+            }
+        }
+        hitCount.add(memberIds.length - missing);
+        missCount.add(missing);
+        if (missing == 0) {
+            return members;
+        }
+
+        long[] missingIds = new long[missing];
+        int[] positions = new int[missing];
+        long[] writeCounts = new long[missing];
+        for (int i = 0, m = 0; i < memberIds.length; i++) {
+            if (members[i] == null) {
+                missingIds[m] = memberIds[i];
+                writeCounts[m] = segmentFor(memberIds[i]).writeCount();
+                positions[m++] = i;
+            }
+        }
+        Member[] loaded = delegate.findAllById(missingIds);
+        for (int m = 0; m < missing; m++) {
+            if (loaded[m] != null) {
+                members[positions[m]] = loaded[m];
+                load(segmentFor(missingIds[m]), writeCounts[m], missingIds[m], loaded[m]);
+            }
+        }
+        return members;
+    }
+
+    /**
+     * 저장소를 직접 수정한 경우 캐시에서 제거
+     */
+    public void invalidate(long memberId) {
+        segmentFor(memberId).remove(memberId);
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    //저장 : 있으면 덮어씀
+    private void cache(long memberId, Member member) {
+        segmentFor(memberId).put(memberId, newEntry(member));
+    }
+
+    //적재 : 저장소에서 읽기 전에 본 writeCount 가 그대로이고 엔트리가 없을 때만 넣음
+    private void load(Segment segment, long writeCount, long memberId, Member member) {
+        segment.putIfAbsent(writeCount, memberId, newEntry(member));
+    }
+
+    private CacheEntry newEntry(Member member) {
+        long expireAt = ttlNanos > 0 ? nanoClock.getAsLong() + ttlNanos : 0L;
+        int weight = weigher.applyAsInt(member);
+        if (weight < 0) {
+            throw new IllegalArgumentException("무게는 0 이상이어야 합니다. memberId = " + member.getId());
+        }
+        return new CacheEntry(member, expireAt, weight);
+    }
+
+    private Segment segmentFor(long memberId) {
+        int hash = Long.hashCode(memberId);
+        hash ^= hash >>> 16;
+        return segments[hash & (SEGMENTS - 1)];
+    }
+
+    private static final class CacheEntry {
+
+        private final Member member;
+        private final long expireAt;    //0 이면 만료 없음
+        private final int weight;
+
+        CacheEntry(Member member, long expireAt, int weight) {
+            this.member = member;
+            this.expireAt = expireAt;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * probation / protected 두 구간을 accessOrder 가 true 인 LinkedHashMap 으로 보관
+     * 조회할 때마다 엔트리를 맨 뒤로 옮기므로 맨 앞이 가장 오래 안 쓴 엔트리
+     */
+    private final class Segment {
+
+        private final LinkedHashMap<Long, CacheEntry> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<Long, CacheEntry> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+        private final long maximumWeight;
+        private final long protectedMaximumWeight;
+        private long probationWeight;
+        private long protectedWeight;
+        private long writeCount;    //저장/제거할 때마다 증가, 적재가 그 사이의 저장을 덮어쓰지 않도록 비교
+
+        Segment(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+            this.protectedMaximumWeight = maximumWeight * PROTECTED_PERCENT / 100;
+        }
+
+        synchronized Member get(long memberId) {
+            CacheEntry entry = protectedEntries.get(memberId);
+            if (entry != null) {
+                if (expired(entry)) {
+                    protectedEntries.remove(memberId);
+                    protectedWeight -= entry.weight;
+                    evictionCount.increment();
+                    return null;
+                }
+                return entry.member;
+            }
+            entry = probation.remove(memberId);
+            if (entry == null) {
+                return null;
+            }
+            probationWeight -= entry.weight;
+            if (expired(entry)) {
+                evictionCount.increment();
+                return null;
+            }
+            //probation 에서 다시 조회됨 -> 자주 쓰는 회원으로 보고 승격
+            protectedEntries.put(memberId, entry);
+            protectedWeight += entry.weight;
+            demote();
+            return entry.member;
+        }
+
+        synchronized long writeCount() {
+            return writeCount;
+        }
+
+        synchronized void put(long memberId, CacheEntry entry) {
+            writeCount++;
+            CacheEntry old = protectedEntries.remove(memberId);
+            if (old != null) {
+                //이미 자주 쓰던 회원이면 protected 에 그대로 둠
+                protectedWeight -= old.weight;
+                protectedEntries.put(memberId, entry);
+                protectedWeight += entry.weight;
+                demote();
+            } else {
+                old = probation.remove(memberId);
+                if (old != null) {
+                    probationWeight -= old.weight;
+                }
+                probation.put(memberId, entry);
+                probationWeight += entry.weight;
+            }
+            evict();
+        }
+
+        synchronized void putIfAbsent(long expectedWriteCount, long memberId, CacheEntry entry) {
+            if (writeCount != expectedWriteCount
+                    || protectedEntries.containsKey(memberId) || probation.containsKey(memberId)) {
+                return;
+            }
+            probation.put(memberId, entry);
+            probationWeight += entry.weight;
+            evict();
+        }
+
+        synchronized void remove(long memberId) {
+            writeCount++;
+            CacheEntry entry = protectedEntries.remove(memberId);
+            if (entry != null) {
+                protectedWeight -= entry.weight;
+            }
+            entry = probation.remove(memberId);
+            if (entry != null) {
+                probationWeight -= entry.weight;
+            }
+        }
+
+        synchronized void clear() {
+            writeCount++;
+            probation.clear();
+            protectedEntries.clear();
+            probationWeight = 0;
+            protectedWeight = 0;
+        }
+
+        synchronized int size() {
+            return probation.size() + protectedEntries.size();
+        }
+
+        private boolean expired(CacheEntry entry) {
+            return entry.expireAt != 0L && nanoClock.getAsLong() - entry.expireAt >= 0;
+        }
+
+        //protected 가 넘치면 가장 오래 안 쓴 엔트리를 probation 의 맨 뒤로 내림
+        private void demote() {
+            while (protectedWeight > protectedMaximumWeight) {
+                Iterator<Map.Entry<Long, CacheEntry>> eldest = protectedEntries.entrySet().iterator();
+                Map.Entry<Long, CacheEntry> demoted = eldest.next();
+                eldest.remove();
+                protectedWeight -= demoted.getValue().weight;
+                probation.put(demoted.getKey(), demoted.getValue());
+                probationWeight += demoted.getValue().weight;
+            }
+        }
+
+        //전체 무게가 넘치면 probation 부터, probation 이 비었으면 protected 에서 가장 오래 안 쓴 엔트리를 제거
+        private void evict() {
+            while (probationWeight + protectedWeight > maximumWeight) {
+                boolean fromProbation = !probation.isEmpty();
+                Iterator<Map.Entry<Long, CacheEntry>> eldest =
+                        (fromProbation ? probation : protectedEntries).entrySet().iterator();
+                CacheEntry victim = eldest.next().getValue();
+                eldest.remove();
+                if (fromProbation) {
+                    probationWeight -= victim.weight;
+                } else {
+                    protectedWeight -= victim.weight;
+                }
+                evictionCount.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package hello.core.member;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * 파일에 회원을 저장하는 저장소, 재시작해도 회원이 사라지지 않음
+ *
+ * 로그 파일 (members.log)
+ * - save 할 때마다 레코드를 메모리 맵 파일 끝에 이어 붙임 (append only)
+ * - 레코드 : [길이 int][crc int][id long][grade byte][이름 길이 int][이름 UTF-8 bytes]
+ * - 중간에 프로세스가 죽어서 잘린 레코드는 crc 가 맞지 않으므로 다시 열 때 그 지점부터 버림
+ *
+ * 체크포인트 파일 (members.checkpoint)
+ * - 메모리에 들고 있는 id -> 오프셋 인덱스와 로그의 끝 위치를 저장
+ * - 다시 열 때 체크포인트를 읽고 그 이후에 추가된 레코드만 읽으면 되므로 로그 전체를 다시 읽지 않음
+ *
+ * 컴팩션
+ * - 같은 id 로 여러번 저장하면 이전 레코드는 쓸모 없는 공간이 됨
+ * - compact() 는 살아있는 레코드만 새 파일로 옮긴 뒤 교체
+ *
+ * 메모리 맵 한 개로 다루므로 로그 파일은 2GB 를 넘을 수 없음
+ */
+public class FileMemberRepository implements MemberRepository, Closeable {
+
+    static final String LOG_FILE = "members.log";
+    static final String CHECKPOINT_FILE = "members.checkpoint";
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int FIXED_PAYLOAD_BYTES = Long.BYTES + 1 + Integer.BYTES;
+    private static final long CHECKPOINT_MAGIC = 0x4D454D4245524350L;  //"MEMBERCP"
+    private static final byte NULL_GRADE = -1;
+    private static final int NULL_NAME = -1;
+    private static final int MIN_MAP_SIZE = 64 * 1024;
+    private static final Grade[] GRADES = Grade.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Path logFile;
+    private final Path checkpointFile;
+    private final LongLongHashMap index = new LongLongHashMap(1024);
+
+    private FileChannel channel;
+    private MappedByteBuffer log;
+    private int writePosition;
+    private long liveBytes;
+
+    public FileMemberRepository(Path directory) {
+        this.logFile = directory.resolve(LOG_FILE);
+        this.checkpointFile = directory.resolve(CHECKPOINT_FILE);
+        try {
+            Files.createDirectories(directory);
+            openLog();
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("회원 로그 파일을 열 수 없습니다. " + logFile, e);
+        }
+    }
+
+    @Override
+    public void save(Member member) {
+        byte[] record = encode(member);
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(writePosition + record.length);
+            append(member.getId(), record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 레코드 인코딩과 crc 계산은 락 밖에서 미리 하고, 맵 크기는 한번에 늘린 뒤 락을 한번만 잡고 이어 붙임
+     */
+    @Override
+    public void saveAll(Collection<Member> members) {
+        Member[] batch = members.toArray(new Member[0]);
+        byte[][] records = new byte[batch.length][];
+        long totalLength = 0;
+        for (int i = 0; i < batch.length; i++) {
+            records[i] = encode(batch[i]);
+            totalLength += records[i].length;
+        }
+        lock.writeLock().lock();
+        try {
+            ensureCapacity(writePosition + totalLength);
+            for (int i = 0; i < batch.length; i++) {
+                append(batch[i].getId(), records[i]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        return findById(memberId.longValue());
+    }
+
+    @Override
+    public Member findById(long memberId) {
+        lock.readLock().lock();
+        try {
+            long offset = index.get(memberId);
+            return offset == LongLongHashMap.MISSING ? null : decode((int) offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Member[] findAllById(long[] memberIds) {
+        Member[] members = new Member[memberIds.length];
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < memberIds.length; i++) {
+                long offset = index.get(memberIds[i]);
+                members[i] = offset == LongLongHashMap.MISSING ? null : decode((int) offset);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return members;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 로그의 변경 내용을 디스크에 기록 (OS 가 죽는 경우까지 대비할 때 호출)
+     */
+    public void flush() {
+        lock.readLock().lock();
+        try {
+            log.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 로그를 디스크에 기록하고 현재 인덱스를 체크포인트 파일로 저장
+     * 임시 파일에 모두 쓴 뒤 이름을 바꾸므로 중간에 죽어도 이전 체크포인트가 남음
+     */
+    public void checkpoint() {
+        lock.readLock().lock();
+        try {
+            log.force();
+            writeCheckpoint();
+        } catch (IOException e) {
+            throw new UncheckedIOException("체크포인트를 저장할 수 없습니다. " + checkpointFile, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 살아있는 레코드만 새 로그 파일로 옮기고 교체
+     * 교체 전에 체크포인트를 먼저 지우므로, 중간에 죽으면 다음에 열 때 로그 전체를 다시 읽음
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            Path compactFile = logFile.resolveSibling(LOG_FILE + ".compact");
+            LongLongHashMap compactedIndex = new LongLongHashMap(index.size());
+            long[] position = {0};
+            try (FileChannel out = FileChannel.open(compactFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                IOException[] failure = {null};
+                index.forEach((id, offset) -> {
+                    if (failure[0] != null) {
+                        return;
+                    }
+                    ByteBuffer record = log.duplicate();
+                    record.position((int) offset).limit((int) offset + log.getInt((int) offset));
+                    compactedIndex.put(id, position[0]);
+                    try {
+                        while (record.hasRemaining()) {
+                            position[0] += out.write(record);
+                        }
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                });
+                if (failure[0] != null) {
+                    throw failure[0];
+                }
+                out.force(true);
+            }
+
+            Files.deleteIfExists(checkpointFile);
+            channel.close();
+            Files.move(compactFile, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            openLog();
+
+            index.clear();
+            compactedIndex.forEach(index::put);
+            //openLog 가 파일을 최소 맵 크기까지 늘리므로 파일 크기가 아니라 옮겨 쓴 바이트 수가 끝 위치
+            writePosition = (int) position[0];
+            liveBytes = writePosition;
+            clearTail();
+            writeCheckpoint();
+        } catch (IOException e) {
+            throw new UncheckedIOException("회원 로그를 정리할 수 없습니다. " + logFile, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 로그에서 더 이상 쓰이지 않는 바이트 비율, compact() 시점을 정할 때 사용
+     */
+    public double garbageRatio() {
+        lock.readLock().lock();
+        try {
+            return writePosition == 0 ? 0 : 1 - (double) liveBytes / writePosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (channel.isOpen()) {
+                log.force();
+                writeCheckpoint();
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void append(long memberId, byte[] record) {
+        int offset = writePosition;
+        ByteBuffer target = log.duplicate();
+        target.position(offset);
+        target.put(record);
+        writePosition += record.length;
+
+        long previous = index.get(memberId);
+        if (previous != LongLongHashMap.MISSING) {
+            liveBytes -= log.getInt((int) previous);
+        }
+        index.put(memberId, offset);
+        liveBytes += record.length;
+    }
+
+    private void openLog() throws IOException {
+        channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        map(Math.max(channel.size(), MIN_MAP_SIZE));
+    }
+
+    private void map(long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("회원 로그 파일은 2GB 를 넘을 수 없습니다.");
+        }
+        log = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private void ensureCapacity(long required) throws IOException {
+        if (required > log.capacity()) {
+            long size = Math.max((long) log.capacity() << 1, required);
+            map(required > Integer.MAX_VALUE ? required : Math.min(size, Integer.MAX_VALUE));
+        }
+    }
+
+    private void recover() throws IOException {
+        int position = readCheckpoint();
+        while (position + HEADER_BYTES + FIXED_PAYLOAD_BYTES <= log.capacity()) {
+            int length = log.getInt(position);
+            if (length < HEADER_BYTES + FIXED_PAYLOAD_BYTES || position + length > log.capacity()
+                    || crc(position + HEADER_BYTES, length - HEADER_BYTES) != log.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            long id = log.getLong(position + HEADER_BYTES);
+            long previous = index.get(id);
+            if (previous != LongLongHashMap.MISSING) {
+                liveBytes -= log.getInt((int) previous);
+            }
+            index.put(id, position);
+            liveBytes += length;
+            position += length;
+        }
+        writePosition = position;
+        clearTail();
+    }
+
+    /**
+     * 잘린 레코드 뒤에 예전 레코드가 남아 있으면 나중에 다시 살아날 수 있으므로 끝 위치 이후를 모두 0 으로 채움
+     * 끝 위치가 0 이어도 그 뒤에 CRC 가 맞는 레코드가 있을 수 있으므로(페이지는 순서 없이 디스크에 내려감) 항상 끝까지 확인
+     * 이미 0 인 곳은 쓰지 않아서 쓰지 않은 페이지를 더럽히지 않음
+     */
+    private void clearTail() {
+        boolean cleared = false;
+        int i = writePosition;
+        for (; i + Long.BYTES <= log.capacity(); i += Long.BYTES) {
+            if (log.getLong(i) != 0) {
+                log.putLong(i, 0L);
+                cleared = true;
+            }
+        }
+        for (; i < log.capacity(); i++) {
+            if (log.get(i) != 0) {
+                log.put(i, (byte) 0);
+                cleared = true;
+            }
+        }
+        if (cleared) {
+            //지운 것이 먼저 디스크에 내려가야 그 자리에 새로 쓴 레코드와 섞이지 않음
+            log.force();
+        }
+    }
+
+    /**
+     * @return 체크포인트 이후 로그를 읽기 시작할 위치, 체크포인트가 없거나 깨졌으면 0
+     */
+    private int readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpointFile));
+        int bodyLength = buffer.capacity() - Long.BYTES;
+        if (bodyLength < Long.BYTES * 3 + Integer.BYTES || buffer.getLong(0) != CHECKPOINT_MAGIC) {
+            return 0;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, bodyLength);
+        if (crc.getValue() != buffer.getLong(bodyLength)) {
+            return 0;
+        }
+
+        buffer.position(Long.BYTES);
+        long position = buffer.getLong();
+        long live = buffer.getLong();
+        int count = buffer.getInt();
+        if (position > log.capacity() || bodyLength != Long.BYTES * 3 + Integer.BYTES + count * Long.BYTES * 2) {
+            return 0;
+        }
+        for (int i = 0; i < count; i++) {
+            index.put(buffer.getLong(), buffer.getLong());
+        }
+        liveBytes = live;
+        return (int) position;
+    }
+
+    private void writeCheckpoint() throws IOException {
+        int count = index.size();
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 4 + Integer.BYTES + count * Long.BYTES * 2);
+        buffer.putLong(CHECKPOINT_MAGIC);
+        buffer.putLong(writePosition);
+        buffer.putLong(liveBytes);
+        buffer.putInt(count);
+        index.forEach((id, offset) -> {
+            buffer.putLong(id);
+            buffer.putLong(offset);
+        });
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putLong(crc.getValue());
+
+        Path tempFile = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] encode(Member member) {
+        byte[] name = member.getName() == null ? new byte[0] : member.getName().getBytes(StandardCharsets.UTF_8);
+        int length = HEADER_BYTES + FIXED_PAYLOAD_BYTES + name.length;
+        ByteBuffer record = ByteBuffer.allocate(length);
+        record.putInt(length);
+        record.putInt(0);   //crc 자리, 아래에서 채움
+        record.putLong(member.getId());
+        record.put(member.getGrade() == null ? NULL_GRADE : (byte) member.getGrade().ordinal());
+        record.putInt(member.getName() == null ? NULL_NAME : name.length);
+        record.put(name);
+
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), HEADER_BYTES, length - HEADER_BYTES);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        return record.array();
+    }
+
+    private Member decode(int offset) {
+        long id = log.getLong(offset + HEADER_BYTES);
+        byte grade = log.get(offset + HEADER_BYTES + Long.BYTES);
+        int nameLength = log.getInt(offset + HEADER_BYTES + Long.BYTES + 1);
+        String name = null;
+        if (nameLength != NULL_NAME) {
+            byte[] bytes = new byte[nameLength];
+            ByteBuffer source = log.duplicate();
+            source.position(offset + HEADER_BYTES + FIXED_PAYLOAD_BYTES);
+            source.get(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new Member(id, name, grade == NULL_GRADE ? null : GRADES[grade]);
+    }
+
+    private int crc(int offset, int length) {
+        ByteBuffer payload = log.duplicate();
+        payload.position(offset).limit(offset + length);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,176 @@
+package hello.core.member;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * long 키를 그대로 사용하는 open addressing 해시 테이블 기반의 회원 저장소
+ * MemoryMemberRepository 는 ConcurrentHashMap<Long, Member> 를 사용하기 때문에
+ * 회원 한 명당 Node + Long + Member 객체가 생기고, 조회할 때마다 id 를 Long 으로 박싱
+ *
+ * 이 저장소는 키를 long 배열에 직접 저장해서 박싱 없이 조회
+ * - 조회 : 락 없이 volatile 로 발행된 테이블을 읽음
+ * - 저장 : synchronized 로 직렬화, 값을 먼저 쓰고 키를 나중에 써서 조회 쪽에서 키가 보이면 값도 보이도록 함
+ * - 확장 : 새 테이블을 완성한 뒤 한번에 교체하므로 조회 중인 스레드는 이전 테이블을 끝까지 읽을 수 있음
+ *
+ * AppConfig 의 memberRepository() 에서 MemoryMemberRepository 대신 선택해서 사용
+ */
+public class LongKeyMemberRepository implements MemberRepository {
+
+    private static final long EMPTY = 0L;   //빈 슬롯 표시, id 0 은 별도 필드에 저장
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private volatile Table table;
+    private volatile Member zeroKeyMember;
+    private int size;   //저장 쪽 락 안에서만 사용
+
+    public LongKeyMemberRepository() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongKeyMemberRepository(int expectedSize) {
+        this.table = new Table(tableSizeFor(expectedSize));
+    }
+
+    @Override
+    public void save(Member member) {
+        save(member.getId(), member);
+    }
+
+    /**
+     * Member 에 이미 들어있는 id 대신 호출하는 쪽의 long id 를 키로 사용
+     */
+    public synchronized void save(long memberId, Member member) {
+        if (memberId == EMPTY) {
+            zeroKeyMember = member;
+            return;
+        }
+        if (table.put(memberId, member)) {
+            size++;
+            if (size > table.threshold) {
+                table = table.resize();
+            }
+        }
+    }
+
+    /**
+     * 필요한 크기만큼 테이블을 한번에 늘린 뒤 락을 한번만 잡고 저장
+     */
+    @Override
+    public synchronized void saveAll(Collection<Member> members) {
+        int required = size + members.size();
+        if (required > table.threshold) {
+            Table resized = new Table(tableSizeFor(required));
+            table.copyTo(resized);
+            table = resized;
+        }
+        for (Member member : members) {
+            save(member.getId(), member);
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        return findById(memberId.longValue());
+    }
+
+    @Override
+    public Member findById(long memberId) {
+        if (memberId == EMPTY) {
+            return zeroKeyMember;
+        }
+        return table.get(memberId);
+    }
+
+    @Override
+    public Member[] findAllById(long[] memberIds) {
+        Table current = table;
+        Member[] members = new Member[memberIds.length];
+        for (int i = 0; i < memberIds.length; i++) {
+            long memberId = memberIds[i];
+            members[i] = memberId == EMPTY ? zeroKeyMember : current.get(memberId);
+        }
+        return members;
+    }
+
+    public synchronized int size() {
+        return zeroKeyMember == null ? size : size + 1;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = (int) Math.min(1 << 30, (long) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR));
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    private static int hash(long key) {
+        //murmur3 fmix64, 연속된 id 가 한쪽에 몰리지 않도록 섞어줌
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private static final class Table {
+
+        private final AtomicLongArray keys;
+        private final AtomicReferenceArray<Member> values;
+        private final int mask;
+        private final int threshold;
+
+        Table(int capacity) {
+            this.keys = new AtomicLongArray(capacity);
+            this.values = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+            this.threshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        Member get(long key) {
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                long k = keys.get(i);
+                if (k == key) {
+                    return values.get(i);
+                }
+                if (k == EMPTY) {
+                    return null;
+                }
+            }
+        }
+
+        /**
+         * @return 새로운 키가 추가되면 true, 기존 키의 값을 바꿨으면 false
+         */
+        boolean put(long key, Member member) {
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                long k = keys.get(i);
+                if (k == key) {
+                    values.set(i, member);
+                    return false;
+                }
+                if (k == EMPTY) {
+                    values.set(i, member);
+                    keys.set(i, key);
+                    return true;
+                }
+            }
+        }
+
+        Table resize() {
+            Table resized = new Table((mask + 1) << 1);
+            copyTo(resized);
+            return resized;
+        }
+
+        void copyTo(Table target) {
+            for (int i = 0; i <= mask; i++) {
+                long k = keys.get(i);
+                if (k != EMPTY) {
+                    target.put(k, values.get(i));
+                }
+            }
+        }
+    }
+}
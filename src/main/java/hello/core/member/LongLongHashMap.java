@@ -0,0 +1,124 @@
+package hello.core.member;
+
+import java.util.Arrays;
+
+/**
+ * long -> long open addressing 해시 맵
+ * 회원 id 로 행 번호나 파일 오프셋을 찾기 위한 인덱스 용도, 엔트리 하나에 객체를 만들지 않음
+ * 동기화하지 않으므로 사용하는 쪽에서 락으로 보호해야 함
+ */
+class LongLongHashMap {
+
+    static final long MISSING = -1L;
+
+    private static final long EMPTY = 0L;   //빈 슬롯 표시, 키 0 은 별도 필드에 저장
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private boolean hasZeroKey;
+    private long zeroKeyValue;
+
+    LongLongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    long get(long key) {
+        if (key == EMPTY) {
+            return hasZeroKey ? zeroKeyValue : MISSING;
+        }
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            if (keys[i] == EMPTY) {
+                return MISSING;
+            }
+        }
+    }
+
+    void put(long key, long value) {
+        if (key == EMPTY) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroKeyValue = value;
+            return;
+        }
+        if (insert(key, value)) {
+            size++;
+            if (size * 2 > keys.length) {
+                rehash(keys.length << 1);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    /**
+     * 저장된 모든 엔트리를 순회, 순서는 보장하지 않음
+     */
+    void forEach(Consumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(EMPTY, zeroKeyValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    interface Consumer {
+        void accept(long key, long value);
+    }
+
+    private boolean insert(long key, long value) {
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] = value;
+                return false;
+            }
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                values[i] = value;
+                return true;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -1,8 +1,33 @@
 package hello.core.member;
 
+import java.util.Collection;
+
 public interface MemberRepository {
 
     void save(Member member);
 
     Member findById(Long MemberId);
+
+    //박싱 없이 조회할 수 있는 구현체는 재정의
+    default Member findById(long memberId) {
+        return findById(Long.valueOf(memberId));
+    }
+
+    //여러 회원을 한번에 저장, 구현체에서 락이나 용량 확보를 한번만 하도록 재정의
+    default void saveAll(Collection<Member> members) {
+        for (Member member : members) {
+            save(member);
+        }
+    }
+
+    /**
+     * @return memberIds 와 같은 순서의 회원 배열, 없는 회원은 null
+     */
+    default Member[] findAllById(long[] memberIds) {
+        Member[] members = new Member[memberIds.length];
+        for (int i = 0; i < memberIds.length; i++) {
+            members[i] = findById(memberIds[i]);
+        }
+        return members;
+    }
 }
@@ -1,8 +1,14 @@
 package hello.core.member;
 
+import java.util.Collection;
+
 public interface MemberService {
 
     void join(Member member);
 
     Member findMember(Long memberId);
+
+    void joinAll(Collection<Member> members);
+
+    Member[] findMembers(long[] memberIds);
 }
@@ -2,12 +2,16 @@ package hello.core.member;
 
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class MemoryMemberRepository implements MemberRepository {
 
+    //이 개수 이상이면 여러 스레드로 나눠서 저장
+    private static final int PARALLEL_THRESHOLD = 10_000;
+
     private static Map<Long, Member> store = new ConcurrentHashMap<>();
 
     @Override
@@ -19,4 +23,20 @@ public class MemoryMemberRepository implements MemberRepository {
     public Member findById(Long memberId) {
         return store.get(memberId);
     }
+
+    /**
+     * 큰 묶음은 parallel stream 으로 나눠서 여러 스레드가 동시에 저장
+     * ConcurrentHashMap 은 동시에 넣는 스레드들이 테이블 확장도 나눠서 도와줌
+     * 같은 묶음 안에 같은 id 가 여러번 있으면 어느 회원이 남을지는 보장하지 않음
+     */
+    @Override
+    public void saveAll(Collection<Member> members) {
+        if (members.size() < PARALLEL_THRESHOLD) {
+            for (Member member : members) {
+                save(member);
+            }
+            return;
+        }
+        members.parallelStream().forEach(this::save);
+    }
 }
@@ -0,0 +1,229 @@
+package hello.core.member;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 회원 데이터를 자바 힙 밖(direct ByteBuffer)에 컬럼 단위로 저장하는 저장소
+ * 회원 수가 수백만이 되면 GC 가 작은 Member / String 객체를 훑는데 대부분의 시간을 쓰게 됨
+ *
+ * 컬럼 구성 (행 번호 row 로 접근)
+ * - id        : long, 8 byte
+ * - grade     : Grade 의 ordinal, 1 byte (-1 이면 null)
+ * - nameOff   : 이름 영역에서의 시작 위치, 4 byte
+ * - nameLen   : 이름의 UTF-8 길이, 4 byte (-1 이면 null)
+ * 이름 바이트는 별도의 영역(arena)에 이어 붙여서 저장
+ *
+ * findById 는 저장된 값으로 Member 를 그때그때 만들어서 반환
+ * 반환된 Member 를 수정해도 저장소에는 반영되지 않으므로 다시 save 해야 함
+ * id -> row 인덱스도 객체 없는 long 배열이라 힙에 남는 것은 배열 몇 개뿐
+ */
+public class OffHeapMemberRepository implements MemberRepository {
+
+    private static final int ID_BYTES = Long.BYTES;
+    private static final int NAME_REF_BYTES = Integer.BYTES;
+    private static final byte NULL_GRADE = -1;
+    private static final int NULL_NAME = -1;
+    private static final Grade[] GRADES = Grade.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongLongHashMap index;
+
+    private ByteBuffer idColumn;
+    private ByteBuffer gradeColumn;
+    private ByteBuffer nameOffsetColumn;
+    private ByteBuffer nameLengthColumn;
+    private ByteBuffer nameArena;
+    private int rowCapacity;
+    private int rows;
+    private int arenaPosition;
+
+    public OffHeapMemberRepository() {
+        this(1024, 16 * 1024);
+    }
+
+    public OffHeapMemberRepository(int expectedMembers, int expectedNameBytes) {
+        this.index = new LongLongHashMap(expectedMembers);
+        this.rowCapacity = Math.max(expectedMembers, 16);
+        this.idColumn = ByteBuffer.allocateDirect(rowCapacity * ID_BYTES);
+        this.gradeColumn = ByteBuffer.allocateDirect(rowCapacity);
+        this.nameOffsetColumn = ByteBuffer.allocateDirect(rowCapacity * NAME_REF_BYTES);
+        this.nameLengthColumn = ByteBuffer.allocateDirect(rowCapacity * NAME_REF_BYTES);
+        this.nameArena = ByteBuffer.allocateDirect(Math.max(expectedNameBytes, 256));
+    }
+
+    @Override
+    public void save(Member member) {
+        byte[] name = nameBytes(member);
+        lock.writeLock().lock();
+        try {
+            ensureRowCapacity(rows + 1);
+            write(member, name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 이름 인코딩은 락 밖에서 미리 하고, 컬럼 용량은 한번에 늘린 뒤 락을 한번만 잡고 저장
+     */
+    @Override
+    public void saveAll(Collection<Member> members) {
+        Member[] batch = members.toArray(new Member[0]);
+        byte[][] names = new byte[batch.length][];
+        for (int i = 0; i < batch.length; i++) {
+            names[i] = nameBytes(batch[i]);
+        }
+        lock.writeLock().lock();
+        try {
+            ensureRowCapacity(rows + batch.length);
+            for (int i = 0; i < batch.length; i++) {
+                write(batch[i], names[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Member findById(Long memberId) {
+        return findById(memberId.longValue());
+    }
+
+    @Override
+    public Member findById(long memberId) {
+        lock.readLock().lock();
+        try {
+            long row = index.get(memberId);
+            if (row == LongLongHashMap.MISSING) {
+                return null;
+            }
+            return materialize((int) row);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Member[] findAllById(long[] memberIds) {
+        Member[] members = new Member[memberIds.length];
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < memberIds.length; i++) {
+                long row = index.get(memberIds[i]);
+                members[i] = row == LongLongHashMap.MISSING ? null : materialize((int) row);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return members;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Member member, byte[] name) {
+        long memberId = member.getId();
+        long found = index.get(memberId);
+        int row;
+        if (found == LongLongHashMap.MISSING) {
+            row = rows++;
+            idColumn.putLong(row * ID_BYTES, memberId);
+            index.put(memberId, row);
+        } else {
+            row = (int) found;
+        }
+        gradeColumn.put(row, member.getGrade() == null ? NULL_GRADE : (byte) member.getGrade().ordinal());
+        writeName(row, name, found != LongLongHashMap.MISSING);
+    }
+
+    private static byte[] nameBytes(Member member) {
+        return member.getName() == null ? null : member.getName().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private Member materialize(int row) {
+        byte grade = gradeColumn.get(row);
+        int nameLength = nameLengthColumn.getInt(row * NAME_REF_BYTES);
+        String name = null;
+        if (nameLength != NULL_NAME) {
+            byte[] bytes = new byte[nameLength];
+            int offset = nameOffsetColumn.getInt(row * NAME_REF_BYTES);
+            //ByteBuffer 의 position 을 바꾸지 않도록 복제본에서 읽음, 읽기 락은 여러 스레드가 함께 잡을 수 있음
+            ByteBuffer arena = nameArena.duplicate();
+            arena.position(offset);
+            arena.get(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new Member(idColumn.getLong(row * ID_BYTES), name, grade == NULL_GRADE ? null : GRADES[grade]);
+    }
+
+    private void writeName(int row, byte[] name, boolean existing) {
+        if (name == null) {
+            nameLengthColumn.putInt(row * NAME_REF_BYTES, NULL_NAME);
+            return;
+        }
+        int offset;
+        int oldLength = existing ? nameLengthColumn.getInt(row * NAME_REF_BYTES) : NULL_NAME;
+        if (name.length <= oldLength) {
+            //기존 자리에 들어가면 재사용
+            offset = nameOffsetColumn.getInt(row * NAME_REF_BYTES);
+        } else {
+            ensureArenaCapacity(arenaPosition + name.length);
+            offset = arenaPosition;
+            arenaPosition += name.length;
+        }
+        ByteBuffer arena = nameArena.duplicate();
+        arena.position(offset);
+        arena.put(name);
+        nameOffsetColumn.putInt(row * NAME_REF_BYTES, offset);
+        nameLengthColumn.putInt(row * NAME_REF_BYTES, name.length);
+    }
+
+    private void ensureRowCapacity(int required) {
+        if (required <= rowCapacity) {
+            return;
+        }
+        int capacity = grow(rowCapacity, required, Integer.MAX_VALUE / ID_BYTES);
+        idColumn = copyOf(idColumn, rows * ID_BYTES, capacity * ID_BYTES);
+        gradeColumn = copyOf(gradeColumn, rows, capacity);
+        nameOffsetColumn = copyOf(nameOffsetColumn, rows * NAME_REF_BYTES, capacity * NAME_REF_BYTES);
+        nameLengthColumn = copyOf(nameLengthColumn, rows * NAME_REF_BYTES, capacity * NAME_REF_BYTES);
+        rowCapacity = capacity;
+    }
+
+    private void ensureArenaCapacity(int required) {
+        if (required < 0) {
+            throw new IllegalStateException("이름 저장 영역이 가득 찼습니다.");
+        }
+        if (required <= nameArena.capacity()) {
+            return;
+        }
+        nameArena = copyOf(nameArena, arenaPosition, grow(nameArena.capacity(), required, Integer.MAX_VALUE));
+    }
+
+    private static int grow(int current, int required, int max) {
+        long capacity = Math.max((long) current << 1, required);
+        if (required > max) {
+            throw new IllegalStateException("저장 용량을 초과했습니다. required = " + required);
+        }
+        return (int) Math.min(capacity, max);
+    }
+
+    private static ByteBuffer copyOf(ByteBuffer source, int used, int capacity) {
+        ByteBuffer copy = ByteBuffer.allocateDirect(capacity);
+        ByteBuffer from = source.duplicate();
+        from.position(0).limit(used);
+        copy.put(from);
+        copy.clear();
+        return copy;
+    }
+}
@@ -0,0 +1,80 @@
+package hello.core.order;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품명 <-> 상품 번호 사전
+ * 같은 상품명이 수백만 주문에 반복되므로 상품명은 한번만 보관하고 주문은 int 번호로 다룸
+ *
+ * - 번호는 0 부터 등록 순서대로 붙고, 한번 붙은 번호는 바뀌거나 지워지지 않음 (append-only)
+ * - 조회(findId, nameOf)는 락 없이 동작, 새 상품명 등록만 락을 잡음
+ * - 번호 -> 상품명 배열은 가득 차면 두 배 크기로 복사한 뒤 volatile 참조를 바꿈
+ *
+ * OrderCodec 에는 itemDictionary::idOf, itemDictionary::nameOf 로 넘겨서 사용
+ */
+@Component
+public class ItemDictionary {
+
+    public static final int NOT_FOUND = -1;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[256];
+    private volatile int size;
+
+    /**
+     * 등록된 상품명이면 번호를 돌려주고, 처음 보는 상품명이면 새 번호를 붙임
+     */
+    public int idOf(String itemName) {
+        Integer id = ids.get(itemName);
+        if (id != null) {
+            return id;
+        }
+        return register(itemName);
+    }
+
+    /**
+     * @return 등록되지 않은 상품명이면 NOT_FOUND
+     */
+    public int findId(String itemName) {
+        Integer id = ids.get(itemName);
+        return id == null ? NOT_FOUND : id;
+    }
+
+    public String nameOf(int itemId) {
+        //size 를 먼저 읽어야 그 전에 쓴 names 의 내용이 보임
+        if (itemId < 0 || itemId >= size) {
+            throw new IllegalArgumentException("등록되지 않은 상품 번호입니다. itemId = " + itemId);
+        }
+        return names[itemId];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private synchronized int register(String itemName) {
+        if (itemName == null) {
+            throw new IllegalArgumentException("상품명이 없습니다.");
+        }
+        Integer existing = ids.get(itemName);
+        if (existing != null) {
+            return existing;
+        }
+        int id = size;
+        String[] current = names;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, current.length << 1);
+            current[id] = itemName;
+            names = current;
+        } else {
+            current[id] = itemName;
+        }
+        size = id + 1;
+        ids.put(itemName, id);
+        return id;
+    }
+}
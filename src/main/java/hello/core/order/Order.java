@@ -2,13 +2,22 @@ package hello.core.order;
 
 public class Order {
 
+    public static final int NO_ITEM_ID = -1;
+
     private Long memberId;
+    private int itemId;
     private String itemName;
     private int itemPrice;
     private int discountPrice;
 
     public Order(Long memberId, String itemName, int itemPrice, int discountPrice) {
+        this(memberId, NO_ITEM_ID, itemName, itemPrice, discountPrice);
+    }
+
+    //itemName 은 ItemDictionary 에 보관된 것을 함께 사용하므로 주문마다 문자열이 생기지 않음
+    public Order(Long memberId, int itemId, String itemName, int itemPrice, int discountPrice) {
         this.memberId = memberId;
+        this.itemId = itemId;
         this.itemName = itemName;
         this.itemPrice = itemPrice;
         this.discountPrice = discountPrice;
@@ -22,6 +31,13 @@ public class Order {
         return memberId;
     }
 
+    /**
+     * @return 상품 번호로 만든 주문이 아니면 NO_ITEM_ID
+     */
+    public int getItemId() {
+        return itemId;
+    }
+
     public String getItemName() {
         return itemName;
     }
@@ -0,0 +1,232 @@
+package hello.core.order;
+
+import hello.core.member.Grade;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * 주문이 생성될 때마다 매출과 할인 금액을 누적하는 집계기
+ * 오프라인으로 주문 전체를 다시 훑지 않고 등급별 / 회원별 합계를 바로 조회
+ *
+ * 등급별 합계
+ * - 등급 ordinal 별 LongAdder, 여러 스레드가 동시에 더해도 서로 기다리지 않음
+ *
+ * 회원별 합계
+ * - 회원 id 해시로 나눈 stripe 마다 open addressing 배열 (id, 매출, 할인, 주문 수) 을 primitive 로 보관
+ * - 쓰기는 stripe 단위 쓰기 락, 조회는 StampedLock 의 낙관적 읽기로 락 없이 읽고 중간에 쓰기가 있었을 때만 다시 읽음
+ *
+ * 매출은 할인 후 금액(calculatePrice) 기준
+ * OrderServiceImpl 이 주문을 만들 때마다 record 를 호출
+ */
+@Component
+public class OrderAggregator {
+
+    private static final Grade[] GRADES = Grade.values();
+    private static final int STRIPES = 16;
+
+    private final LongAdder[] gradeRevenues = new LongAdder[GRADES.length];
+    private final LongAdder[] gradeDiscounts = new LongAdder[GRADES.length];
+    private final LongAdder[] gradeOrderCounts = new LongAdder[GRADES.length];
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public OrderAggregator() {
+        for (int g = 0; g < GRADES.length; g++) {
+            gradeRevenues[g] = new LongAdder();
+            gradeDiscounts[g] = new LongAdder();
+            gradeOrderCounts[g] = new LongAdder();
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * @param grade null 이면 회원별 합계에만 반영
+     */
+    public void record(Grade grade, long memberId, int itemPrice, int discountPrice) {
+        long revenue = itemPrice - discountPrice;
+        if (grade != null) {
+            gradeRevenues[grade.ordinal()].add(revenue);
+            gradeDiscounts[grade.ordinal()].add(discountPrice);
+            gradeOrderCounts[grade.ordinal()].increment();
+        }
+        stripeFor(memberId).add(memberId, revenue, discountPrice);
+    }
+
+    public long getRevenue(Grade grade) {
+        return gradeRevenues[grade.ordinal()].sum();
+    }
+
+    public long getDiscount(Grade grade) {
+        return gradeDiscounts[grade.ordinal()].sum();
+    }
+
+    public long getOrderCount(Grade grade) {
+        return gradeOrderCounts[grade.ordinal()].sum();
+    }
+
+    public long getMemberRevenue(long memberId) {
+        return stripeFor(memberId).get(memberId, Stripe.REVENUE);
+    }
+
+    public long getMemberDiscount(long memberId) {
+        return stripeFor(memberId).get(memberId, Stripe.DISCOUNT);
+    }
+
+    public long getMemberOrderCount(long memberId) {
+        return stripeFor(memberId).get(memberId, Stripe.COUNT);
+    }
+
+    /**
+     * 주문이 한번이라도 있었던 회원 수
+     */
+    public long getMemberCount() {
+        long count = 0;
+        for (Stripe stripe : stripes) {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    private Stripe stripeFor(long memberId) {
+        return stripes[(int) (mix(memberId) >>> 60)];
+    }
+
+    private static long mix(long key) {
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return key ^ (key >>> 33);
+    }
+
+    /**
+     * 회원 id -> (매출, 할인, 주문 수) 를 long 배열에 이어서 보관하는 open addressing 테이블
+     * 키 0 은 빈 칸 표시로 쓰므로 id 0 회원은 별도 필드에 보관
+     */
+    private static final class Stripe {
+
+        static final int REVENUE = 0;
+        static final int DISCOUNT = 1;
+        static final int COUNT = 2;
+        private static final int VALUES = 3;
+
+        private final StampedLock lock = new StampedLock();
+        private long[] keys = new long[64];
+        private long[] values = new long[64 * VALUES];
+        private final long[] zeroValues = new long[VALUES];
+        private int size;
+        private boolean hasZero;
+
+        void add(long memberId, long revenue, int discountPrice) {
+            long stamp = lock.writeLock();
+            try {
+                long[] target;
+                int base;
+                if (memberId == 0) {
+                    if (!hasZero) {
+                        hasZero = true;
+                        size++;
+                    }
+                    target = zeroValues;
+                    base = 0;
+                } else {
+                    int slot = findOrInsert(memberId);
+                    target = values;
+                    base = slot * VALUES;
+                }
+                target[base + REVENUE] += revenue;
+                target[base + DISCOUNT] += discountPrice;
+                target[base + COUNT]++;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        long get(long memberId, int field) {
+            long stamp = lock.tryOptimisticRead();
+            long value = read(memberId, field);
+            if (lock.validate(stamp)) {
+                return value;
+            }
+            stamp = lock.readLock();
+            try {
+                return read(memberId, field);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        //낙관적 읽기 중에는 배열이 바뀔 수 있으므로 참조를 한번만 읽고 범위를 벗어나지 않게 함
+        private long read(long memberId, int field) {
+            if (memberId == 0) {
+                return hasZero ? zeroValues[field] : 0;
+            }
+            long[] currentKeys = keys;
+            long[] currentValues = values;
+            if (currentValues.length != currentKeys.length * VALUES) {
+                return 0;   //확장 도중, validate 에서 실패하고 락을 잡고 다시 읽음
+            }
+            int mask = currentKeys.length - 1;
+            for (int slot = (int) mix(memberId) & mask, probe = 0; probe < currentKeys.length; slot = (slot + 1) & mask, probe++) {
+                long key = currentKeys[slot];
+                if (key == memberId) {
+                    return currentValues[slot * VALUES + field];
+                }
+                if (key == 0) {
+                    return 0;
+                }
+            }
+            return 0;
+        }
+
+        private int findOrInsert(long memberId) {
+            int mask = keys.length - 1;
+            int slot = (int) mix(memberId) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == memberId) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if ((size + 1) * 4 > keys.length * 3) {
+                grow();
+                return findOrInsert(memberId);
+            }
+            keys[slot] = memberId;
+            size++;
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            long[] newKeys = new long[oldKeys.length << 1];
+            long[] newValues = new long[newKeys.length * VALUES];
+            int mask = newKeys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == 0) {
+                    continue;
+                }
+                int slot = (int) mix(oldKeys[i]) & mask;
+                while (newKeys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                newKeys[slot] = oldKeys[i];
+                System.arraycopy(oldValues, i * VALUES, newValues, slot * VALUES, VALUES);
+            }
+            //값을 먼저 바꾸고 키를 바꿈, 낙관적 읽기는 두 배열 길이가 맞지 않으면 다시 읽음
+            values = newValues;
+            keys = newKeys;
+        }
+    }
+}
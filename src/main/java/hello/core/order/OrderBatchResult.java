@@ -0,0 +1,58 @@
+package hello.core.order;
+
+/**
+ * createOrders 의 결과
+ * 주문마다 Order 객체를 만들지 않고 입력 배열과 할인 금액 배열을 그대로 들고 있음
+ * 입력 배열을 복사하지 않으므로 결과를 쓰는 동안 입력 배열을 수정하지 않아야 함
+ */
+public class OrderBatchResult {
+
+    private final long[] memberIds;
+    private final String[] itemNames;
+    private final int[] itemPrices;
+    private final int[] discountPrices;
+
+    public OrderBatchResult(long[] memberIds, String[] itemNames, int[] itemPrices, int[] discountPrices) {
+        this.memberIds = memberIds;
+        this.itemNames = itemNames;
+        this.itemPrices = itemPrices;
+        this.discountPrices = discountPrices;
+    }
+
+    public int size() {
+        return itemPrices.length;
+    }
+
+    public long getMemberId(int index) {
+        return memberIds[index];
+    }
+
+    public String getItemName(int index) {
+        return itemNames[index];
+    }
+
+    public int getItemPrice(int index) {
+        return itemPrices[index];
+    }
+
+    public int getDiscountPrice(int index) {
+        return discountPrices[index];
+    }
+
+    public int calculatePrice(int index) {
+        return itemPrices[index] - discountPrices[index];
+    }
+
+    public long totalDiscountPrice() {
+        long total = 0;
+        for (int discountPrice : discountPrices) {
+            total += discountPrice;
+        }
+        return total;
+    }
+
+    //필요한 주문만 Order 로 변환
+    public Order toOrder(int index) {
+        return new Order(memberIds[index], itemNames[index], itemPrices[index], discountPrices[index]);
+    }
+}
@@ -0,0 +1,72 @@
+package hello.core.order;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * 주문을 고정 길이 바이너리 레코드로 쓰고 읽는 유틸리티
+ * 주문을 큐에 넣거나 파일/네트워크로 보낼 때 Order 객체와 문자열을 만들지 않고 ByteBuffer 하나에 이어서 씀
+ *
+ * 레코드 구성 (RECORD_BYTES = 20 byte, ByteBuffer 의 byte order 를 따름)
+ * - memberId      : long, 8 byte
+ * - itemId        : int, 4 byte (상품명 대신 번호, 번호 <-> 상품명 변환은 호출하는 쪽에서 지정)
+ * - itemPrice     : int, 4 byte
+ * - discountPrice : int, 4 byte
+ *
+ * 쓰기는 buffer 의 position 에 이어서 쓰고, 레코드를 읽을 때는 OrderRecord 를 재사용
+ */
+public final class OrderCodec {
+
+    public static final int RECORD_BYTES = 20;
+
+    static final int MEMBER_ID_OFFSET = 0;
+    static final int ITEM_ID_OFFSET = 8;
+    static final int ITEM_PRICE_OFFSET = 12;
+    static final int DISCOUNT_PRICE_OFFSET = 16;
+
+    private OrderCodec() {
+    }
+
+    public static void encode(ByteBuffer buffer, long memberId, int itemId, int itemPrice, int discountPrice) {
+        buffer.putLong(memberId)
+                .putInt(itemId)
+                .putInt(itemPrice)
+                .putInt(discountPrice);
+    }
+
+    public static void encode(ByteBuffer buffer, Order order, ToIntFunction<String> itemIds) {
+        encode(buffer, order.getMemberId(), itemIds.applyAsInt(order.getItemName()),
+                order.getItemPrice(), order.getDiscountPrice());
+    }
+
+    /**
+     * createOrders 결과를 통째로 씀
+     * @throws BufferOverflowException 남은 공간이 모자라면 아무것도 쓰지 않고 발생
+     */
+    public static void encode(ByteBuffer buffer, OrderBatchResult result, ToIntFunction<String> itemIds) {
+        if (buffer.remaining() < (long) result.size() * RECORD_BYTES) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < result.size(); i++) {
+            encode(buffer, result.getMemberId(i), itemIds.applyAsInt(result.getItemName(i)),
+                    result.getItemPrice(i), result.getDiscountPrice(i));
+        }
+    }
+
+    /**
+     * position 에서 레코드 하나를 읽어서 Order 로 만듦, Order 가 꼭 필요한 곳에서만 사용
+     */
+    public static Order decode(ByteBuffer buffer, IntFunction<String> itemNames) {
+        long memberId = buffer.getLong();
+        int itemId = buffer.getInt();
+        int itemPrice = buffer.getInt();
+        int discountPrice = buffer.getInt();
+        return new Order(memberId, itemNames.apply(itemId), itemPrice, discountPrice);
+    }
+
+    public static int recordCount(ByteBuffer buffer) {
+        return buffer.remaining() / RECORD_BYTES;
+    }
+}
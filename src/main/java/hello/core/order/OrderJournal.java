@@ -0,0 +1,478 @@
+package hello.core.order;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 생성된 주문을 파일에 순서대로 남기는 저널 (append only)
+ * 데이터베이스 없이 주문 기록을 보관하고, 나중에 replay 로 다시 읽어서 정산/대사에 사용
+ *
+ * 세그먼트 파일 (orders-<첫 번호 20자리>.journal)
+ * - recordsPerSegment 개의 고정 크기 슬롯을 가진 파일을 미리 만들어서 메모리 맵으로 씀
+ * - 가득 차면 디스크에 내린 뒤 다음 번호로 새 세그먼트를 만듦 -> 항상 파일 끝에 순차 쓰기
+ * - 슬롯 : [번호 long][OrderCodec 레코드 20 byte][crc int] = 32 byte
+ * - 번호는 1 부터 증가, 번호가 0 이거나 이어지지 않거나 crc 가 맞지 않는 슬롯이 나오면 거기가 끝 (프로세스가 죽으면서 덜 쓴 슬롯 포함)
+ *
+ * 그룹 커밋
+ * - append 는 메모리 맵에 쓰기만 하고 바로 돌아감
+ * - 별도 스레드가 flushInterval 마다 그동안 쓴 슬롯을 한번에 force() -> 여러 주문이 디스크 동기화 한번을 나눠 씀
+ * - 디스크까지 내려간 것을 확인해야 하면 awaitDurable(번호) 또는 sync() 로 기다림
+ *
+ * 상품명 사전 (items.dict)
+ * - 주문은 상품 번호로 저장하고, 처음 쓰는 상품 번호의 상품명은 같은 디렉토리의 items.dict 에 [길이][crc][UTF-8] 로 이어서 씀
+ * - 상품 번호 i 의 상품명이 i 번째 레코드 -> 주문 슬롯보다 먼저 쓰고 먼저 디스크에 내리므로 저장된 주문의 상품명은 항상 찾을 수 있음
+ * - 다시 열면 items.dict 를 넘겨받은 ItemDictionary 에 같은 번호로 등록, 이미 다른 상품명이 있으면 실패
+ * - replay 할 때는 readItems(디렉토리) 로 사전을 읽어서 record.getItemId() 의 상품명을 찾음
+ */
+public class OrderJournal implements Closeable {
+
+    static final String SEGMENT_PREFIX = "orders-";
+    static final String SEGMENT_SUFFIX = ".journal";
+    static final int SLOT_BYTES = 32;
+    static final String ITEMS_FILE = "items.dict";
+    private static final int ITEM_HEADER_BYTES = Integer.BYTES * 2;
+
+    private static final int ORDER_OFFSET = Long.BYTES;
+    private static final int CRC_OFFSET = ORDER_OFFSET + OrderCodec.RECORD_BYTES;
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final long flushIntervalNanos;
+    private final Thread flusher;
+    private final ItemDictionary itemDictionary;
+
+    private final Object lock = new Object();
+    private final ByteBuffer scratch = ByteBuffer.allocate(SLOT_BYTES);
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private int slot;
+    private long lastSequence;
+    private FileChannel itemChannel;
+    private int persistedItems;     //items.dict 에 쓴 상품 수, 상품 번호 0 ~ persistedItems - 1
+    private boolean itemsDirty;
+    private volatile boolean closed;
+
+    private final Object durableLock = new Object();
+    private long durableSequence;
+
+    public OrderJournal(Path directory) {
+        this(directory, new ItemDictionary());
+    }
+
+    /**
+     * @param itemDictionary 주문 서비스와 같은 사전을 넘기면 Order 의 상품 번호를 그대로 저장
+     */
+    public OrderJournal(Path directory, ItemDictionary itemDictionary) {
+        this(directory, itemDictionary, 1 << 20, Duration.ofMillis(10));
+    }
+
+    public OrderJournal(Path directory, int recordsPerSegment, Duration flushInterval) {
+        this(directory, new ItemDictionary(), recordsPerSegment, flushInterval);
+    }
+
+    public OrderJournal(Path directory, ItemDictionary itemDictionary, int recordsPerSegment, Duration flushInterval) {
+        if (recordsPerSegment < 1 || (long) recordsPerSegment * SLOT_BYTES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("recordsPerSegment 가 올바르지 않습니다. recordsPerSegment = " + recordsPerSegment);
+        }
+        this.directory = directory;
+        this.itemDictionary = itemDictionary;
+        this.recordsPerSegment = recordsPerSegment;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        try {
+            Files.createDirectories(directory);
+            openItems();
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("주문 저널을 열 수 없습니다. " + directory, e);
+        }
+        this.durableSequence = lastSequence;
+        this.flusher = new Thread(this::flushLoop, "order-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * @param itemId 저널의 ItemDictionary 에 등록된 상품 번호
+     * @return 저널 번호, awaitDurable 에 넘겨서 디스크에 내려갈 때까지 기다릴 수 있음
+     */
+    public long append(long memberId, int itemId, int itemPrice, int discountPrice) {
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("닫힌 주문 저널입니다.");
+            }
+            if (itemId >= persistedItems) {
+                writeItems(itemId);
+            }
+            if (slot == recordsPerSegment) {
+                roll();
+            }
+            long sequence = lastSequence + 1;
+            scratch.clear();
+            scratch.putLong(sequence);
+            OrderCodec.encode(scratch, memberId, itemId, itemPrice, discountPrice);
+            crc.reset();
+            crc.update(scratch.array(), 0, CRC_OFFSET);
+            scratch.putInt((int) crc.getValue());
+
+            //절대 위치로 8 byte 씩 옮겨서 주문마다 생기는 객체가 없음
+            int offset = slot * SLOT_BYTES;
+            for (int i = 0; i < SLOT_BYTES; i += Long.BYTES) {
+                segment.putLong(offset + i, scratch.getLong(i));
+            }
+            slot++;
+            lastSequence = sequence;
+            return sequence;
+        }
+    }
+
+    /**
+     * 상품명을 저널의 ItemDictionary 에서 번호로 바꿔서 저장, 처음 보는 상품명이면 등록
+     */
+    public long append(long memberId, String itemName, int itemPrice, int discountPrice) {
+        return append(memberId, itemDictionary.idOf(itemName), itemPrice, discountPrice);
+    }
+
+    /**
+     * 상품명으로 저장, Order 의 상품 번호는 다른 사전의 번호일 수 있으므로 사용하지 않음
+     */
+    public long append(Order order) {
+        return append(order.getMemberId(), order.getItemName(), order.getItemPrice(), order.getDiscountPrice());
+    }
+
+    public ItemDictionary getItemDictionary() {
+        return itemDictionary;
+    }
+
+    /**
+     * 해당 번호까지 디스크에 내려갈 때까지 기다림
+     */
+    public void awaitDurable(long sequence) throws InterruptedException {
+        synchronized (durableLock) {
+            while (durableSequence < sequence) {
+                if (closed) {
+                    throw new IllegalStateException("닫힌 주문 저널입니다.");
+                }
+                durableLock.wait();
+            }
+        }
+    }
+
+    /**
+     * 지금까지 쓴 주문을 바로 디스크에 내림
+     */
+    public void sync() {
+        flush();
+    }
+
+    public long getLastSequence() {
+        synchronized (lock) {
+            return lastSequence;
+        }
+    }
+
+    public long getDurableSequence() {
+        synchronized (durableLock) {
+            return durableSequence;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        flusher.interrupt();
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            try {
+                itemChannel.force(false);
+                itemChannel.close();
+                segment.force();
+                markDurable(lastSequence);
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 저널 디렉토리의 모든 세그먼트를 번호 순서대로 읽음
+     * OrderRecord 는 재사용되므로 handler 밖으로 들고 나가면 안 됨
+     * @return 읽은 주문 수
+     */
+    public static long replay(Path directory, Handler handler) {
+        OrderRecord record = new OrderRecord();
+        CRC32 crc = new CRC32();
+        long count = 0;
+        try {
+            for (Path file : segmentFiles(directory)) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    int slots = (int) (channel.size() / SLOT_BYTES);
+                    long expected = firstSequence(file);
+                    for (int i = 0; i < slots; i++, expected++) {
+                        long sequence = validSequence(buffer, i * SLOT_BYTES, crc);
+                        if (sequence == 0 || sequence != expected) {
+                            break;
+                        }
+                        handler.accept(sequence, record.wrap(buffer, i * SLOT_BYTES + ORDER_OFFSET));
+                        count++;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("주문 저널을 읽을 수 없습니다. " + directory, e);
+        }
+        return count;
+    }
+
+    /**
+     * 저널 디렉토리의 items.dict 를 읽어서 replay 한 주문의 상품 번호 -> 상품명 사전을 만듦
+     */
+    public static ItemDictionary readItems(Path directory) {
+        ItemDictionary itemDictionary = new ItemDictionary();
+        Path file = directory.resolve(ITEMS_FILE);
+        try {
+            if (Files.exists(file)) {
+                readItems(ByteBuffer.wrap(Files.readAllBytes(file)), itemDictionary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("상품명 사전을 읽을 수 없습니다. " + file, e);
+        }
+        return itemDictionary;
+    }
+
+    public interface Handler {
+        void accept(long sequence, OrderRecord record);
+    }
+
+    private void flushLoop() {
+        while (!closed) {
+            try {
+                Thread.sleep(flushIntervalNanos / 1_000_000, (int) (flushIntervalNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                return;     //close 에서 마지막으로 내림
+            }
+            flush();
+        }
+    }
+
+    private void flush() {
+        MappedByteBuffer current;
+        long sequence;
+        boolean items;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            current = segment;
+            sequence = lastSequence;
+            items = itemsDirty;
+            itemsDirty = false;
+        }
+        if (items) {
+            //주문보다 상품명이 먼저 디스크에 있어야 replay 할 때 상품명을 찾을 수 있음
+            try {
+                itemChannel.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("상품명 사전을 디스크에 내릴 수 없습니다. " + directory, e);
+            }
+        }
+        if (sequence == getDurableSequence()) {
+            return;
+        }
+        //이전 세그먼트는 roll 에서 이미 내렸으므로 현재 세그먼트만 내리면 sequence 까지 모두 디스크에 있음
+        current.force();
+        markDurable(sequence);
+    }
+
+    private void markDurable(long sequence) {
+        synchronized (durableLock) {
+            if (sequence > durableSequence) {
+                durableSequence = sequence;
+            }
+            durableLock.notifyAll();
+        }
+    }
+
+    private void roll() {
+        segment.force();
+        try {
+            channel.close();
+            openSegment(lastSequence + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("새 주문 저널 세그먼트를 만들 수 없습니다. " + directory, e);
+        }
+    }
+
+    //persistedItems 부터 itemId 까지의 상품명을 items.dict 에 씀, lock 안에서 호출
+    private void writeItems(int itemId) {
+        if (itemId < 0) {
+            throw new IllegalArgumentException("상품 번호가 없는 주문은 기록할 수 없습니다. itemId = " + itemId);
+        }
+        try {
+            for (int id = persistedItems; id <= itemId; id++) {
+                byte[] name = itemDictionary.nameOf(id).getBytes(StandardCharsets.UTF_8);
+                crc.reset();
+                crc.update(name);
+                ByteBuffer buffer = ByteBuffer.allocate(ITEM_HEADER_BYTES + name.length);
+                buffer.putInt(name.length).putInt((int) crc.getValue()).put(name).flip();
+                while (buffer.hasRemaining()) {
+                    itemChannel.write(buffer);
+                }
+                persistedItems = id + 1;
+                itemsDirty = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("상품명 사전에 쓸 수 없습니다. " + directory, e);
+        }
+    }
+
+    //items.dict 의 상품명을 사전에 같은 번호로 등록하고, 덜 쓴 마지막 레코드는 잘라내고 이어서 씀
+    private void openItems() throws IOException {
+        Path file = directory.resolve(ITEMS_FILE);
+        ByteBuffer buffer = ByteBuffer.wrap(Files.exists(file) ? Files.readAllBytes(file) : new byte[0]);
+        persistedItems = readItems(buffer, itemDictionary);
+        itemChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        itemChannel.truncate(buffer.position());
+        itemChannel.position(buffer.position());
+    }
+
+    /**
+     * @return 읽은 상품 수, buffer 의 position 은 마지막으로 올바르게 읽은 레코드의 끝
+     */
+    private static int readItems(ByteBuffer buffer, ItemDictionary target) {
+        CRC32 check = new CRC32();
+        int count = 0;
+        while (buffer.remaining() >= ITEM_HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length < 0 || length > buffer.remaining() - ITEM_HEADER_BYTES) {
+                break;
+            }
+            check.reset();
+            check.update(buffer.array(), start + ITEM_HEADER_BYTES, length);
+            if ((int) check.getValue() != buffer.getInt(start + Integer.BYTES)) {
+                break;
+            }
+            String name = new String(buffer.array(), start + ITEM_HEADER_BYTES, length, StandardCharsets.UTF_8);
+            boolean same = count < target.size() ? name.equals(target.nameOf(count)) : target.idOf(name) == count;
+            if (!same) {
+                throw new IllegalStateException("저널의 상품 번호와 ItemDictionary 의 상품 번호가 다릅니다. itemId = "
+                        + count + ", itemName = " + name);
+            }
+            buffer.position(start + ITEM_HEADER_BYTES + length);
+            count++;
+        }
+        return count;
+    }
+
+    //마지막 세그먼트에서 이어서 씀
+    private void recover() throws IOException {
+        List<Path> files = segmentFiles(directory);
+        if (files.isEmpty()) {
+            openSegment(1);
+            return;
+        }
+        Path last = files.get(files.size() - 1);
+        long firstSequence = firstSequence(last);
+        channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * SLOT_BYTES);
+        CRC32 check = new CRC32();
+        slot = 0;
+        lastSequence = firstSequence - 1;
+        while (slot < recordsPerSegment) {
+            long sequence = validSequence(segment, slot * SLOT_BYTES, check);
+            if (sequence == 0 || sequence != lastSequence + 1) {
+                break;
+            }
+            lastSequence = sequence;
+            slot++;
+        }
+        clearTail();
+    }
+
+    /**
+     * 메모리 맵 페이지는 순서 없이 디스크에 내려가므로 덜 쓴 슬롯 뒤에 CRC 가 맞는 슬롯이 남아 있을 수 있음
+     * 그대로 두면 다음에 죽었을 때 이어진 기록처럼 다시 읽히므로 끝 위치 이후의 비어있지 않은 슬롯을 모두 0 으로 채움
+     * (비어있는 슬롯은 건드리지 않아서 쓰지 않은 페이지를 더럽히지 않음)
+     */
+    private void clearTail() {
+        boolean cleared = false;
+        for (int i = slot; i < recordsPerSegment; i++) {
+            int offset = i * SLOT_BYTES;
+            if (segment.getLong(offset) == 0) {
+                continue;
+            }
+            for (int j = 0; j < SLOT_BYTES; j += Long.BYTES) {
+                segment.putLong(offset + j, 0L);
+            }
+            cleared = true;
+        }
+        if (cleared) {
+            //지운 것이 먼저 디스크에 내려가야 그 자리에 새로 쓴 주문과 섞이지 않음
+            segment.force();
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * SLOT_BYTES);
+        slot = 0;
+        lastSequence = firstSequence - 1;
+    }
+
+    //슬롯이 올바르면 번호, 비어있거나 깨졌으면 0
+    private static long validSequence(ByteBuffer buffer, int offset, CRC32 crc) {
+        long sequence = buffer.getLong(offset);
+        if (sequence == 0) {
+            return 0;
+        }
+        ByteBuffer slot = buffer.duplicate();
+        slot.position(offset).limit(offset + CRC_OFFSET);
+        crc.reset();
+        crc.update(slot);
+        return (int) crc.getValue() == buffer.getInt(offset + CRC_OFFSET) ? sequence : 0;
+    }
+
+    private static List<Path> segmentFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        Collections.sort(files);    //첫 번호를 20자리로 채웠으므로 이름순 = 번호순
+        return files;
+    }
+
+    private static long firstSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
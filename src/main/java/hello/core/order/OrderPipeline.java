@@ -0,0 +1,268 @@
+package hello.core.order;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 요청 스트림(Flow.Publisher<OrderRequest>)을 받아서 가격이 계산된 Order 스트림으로 내보내는 처리기
+ * 메시지 스트림에서 주문을 하나씩 꺼내 createOrder 를 부르는 대신, 요청을 작은 묶음으로 모아서 createOrders 로 처리
+ * -> 회원 조회는 묶음마다 findAllById 한번, 할인은 discountAll 한번
+ *
+ * 묶음 만들기
+ * - batchSize 만큼 모이거나, 묶음의 첫 요청이 들어온 뒤 maxDelay 가 지나면 처리 시작
+ * - 묶음은 executor 에서 처리하므로 여러 묶음이 동시에 계산될 수 있음
+ * - 아래쪽 전달도 같은 executor 를 쓰므로 고정 크기 풀이면 스레드가 2개 이상이어야 함 (기본 ForkJoinPool 은 기다리는 동안 스레드를 보충)
+ *
+ * 배압(backpressure)
+ * - 위쪽(upstream)에는 처음에 maxInFlight 개만 요청하고, 묶음의 주문을 아래쪽으로 내보낸 만큼만 다시 요청
+ *   -> 처리 중이거나 아직 내보내지 못한 요청은 항상 maxInFlight 개 이하
+ * - 아래쪽(subscriber)은 SubmissionPublisher 의 버퍼(maxInFlight)를 사용하고, 버퍼가 차면 내보내는 스레드가 기다림
+ *   -> 아래쪽이 느리면 위쪽 요청도 자연스럽게 멈춤
+ *
+ * 출력 순서 (Mode)
+ * - ORDERED   : 요청이 들어온 순서대로 내보냄, 먼저 끝난 묶음은 앞 묶음이 끝날 때까지 보관
+ * - UNORDERED : 묶음이 끝나는 대로 내보냄 (묶음 안의 순서는 유지)
+ *
+ * 오류 처리
+ * - 묶음 처리 중 예외가 나면 (없는 회원 등) 위쪽 구독을 취소하고 아래쪽에 onError 로 알림
+ */
+public class OrderPipeline extends SubmissionPublisher<Order> implements Flow.Processor<OrderRequest, Order> {
+
+    public enum Mode {
+        ORDERED, UNORDERED
+    }
+
+    private final OrderService orderService;
+    private final Executor executor;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final long maxDelayNanos;
+    private final Mode mode;
+    private final ScheduledExecutorService flusher;
+
+    private final Object lock = new Object();
+    private Flow.Subscription upstream;
+    private List<OrderRequest> pending = new ArrayList<>();
+    private long nextSequence;
+    private int inFlightBatches;
+    private boolean upstreamDone;
+    private boolean failed;
+
+    private final Object emitLock = new Object();
+    private final Map<Long, OrderBatchResult> completed = new HashMap<>();    //ORDERED, 순서를 기다리는 묶음
+    private final Queue<OrderBatchResult> ready = new ArrayDeque<>();           //UNORDERED
+    private long nextToEmit;
+    private boolean emitting;
+
+    public OrderPipeline(OrderService orderService, int batchSize, Duration maxDelay, Mode mode) {
+        this(orderService, ForkJoinPool.commonPool(), batchSize, Flow.defaultBufferSize(), maxDelay, mode);
+    }
+
+    public OrderPipeline(OrderService orderService, Executor executor, int batchSize, int maxInFlight,
+                         Duration maxDelay, Mode mode) {
+        super(executor, maxInFlight);
+        if (batchSize < 1 || maxInFlight < batchSize) {
+            throw new IllegalArgumentException("batchSize 는 1 이상, maxInFlight 는 batchSize 이상이어야 합니다.");
+        }
+        this.orderService = orderService;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.mode = mode;
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "order-pipeline-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.flusher = scheduler;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        synchronized (lock) {
+            if (upstream != null) {
+                subscription.cancel();  //위쪽 구독은 하나만 받음
+                return;
+            }
+            upstream = subscription;
+        }
+        subscription.request(maxInFlight);
+    }
+
+    @Override
+    public void onNext(OrderRequest request) {
+        synchronized (lock) {
+            if (failed) {
+                return;
+            }
+            pending.add(request);
+            if (pending.size() >= batchSize) {
+                dispatchLocked();
+            } else if (pending.size() == 1) {
+                long sequence = nextSequence;
+                flusher.schedule(() -> flush(sequence), maxDelayNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        synchronized (lock) {
+            if (failed) {
+                return;
+            }
+            failed = true;
+        }
+        flusher.shutdownNow();
+        closeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (lock) {
+            if (failed) {
+                return;
+            }
+            upstreamDone = true;
+            if (!pending.isEmpty()) {
+                dispatchLocked();
+            }
+            if (inFlightBatches == 0) {
+                finish();
+            }
+        }
+    }
+
+    //maxDelay 가 지났는데 그 묶음이 아직 차지 않았으면 처리 시작
+    private void flush(long sequence) {
+        synchronized (lock) {
+            if (!failed && nextSequence == sequence && !pending.isEmpty()) {
+                dispatchLocked();
+            }
+        }
+    }
+
+    private void dispatchLocked() {
+        List<OrderRequest> batch = pending;
+        pending = new ArrayList<>(batchSize);
+        long sequence = nextSequence++;
+        inFlightBatches++;
+        executor.execute(() -> process(sequence, batch));
+    }
+
+    private void process(long sequence, List<OrderRequest> batch) {
+        int size = batch.size();
+        long[] memberIds = new long[size];
+        String[] itemNames = new String[size];
+        int[] itemPrices = new int[size];
+        for (int i = 0; i < size; i++) {
+            OrderRequest request = batch.get(i);
+            memberIds[i] = request.getMemberId();
+            itemNames[i] = request.getItemName();
+            itemPrices[i] = request.getItemPrice();
+        }
+
+        OrderBatchResult result;
+        try {
+            result = orderService.createOrders(memberIds, itemNames, itemPrices);
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        }
+        emit(sequence, result);
+    }
+
+    /**
+     * 내보내기는 한 스레드만 담당, 다른 묶음이 끝나면 결과만 넣어두고 바로 돌아감
+     * -> 아래쪽 버퍼가 가득 차서 submit 이 기다리는 동안에도 나머지 스레드는 다른 작업(아래쪽 전달 등)을 할 수 있음
+     */
+    private void emit(long sequence, OrderBatchResult result) {
+        synchronized (emitLock) {
+            if (mode == Mode.ORDERED) {
+                completed.put(sequence, result);
+            } else {
+                ready.add(result);
+            }
+            if (emitting) {
+                return;
+            }
+            emitting = true;
+        }
+        while (true) {
+            OrderBatchResult next;
+            synchronized (emitLock) {
+                next = mode == Mode.ORDERED ? completed.remove(nextToEmit) : ready.poll();
+                if (next == null) {
+                    emitting = false;
+                    return;
+                }
+                nextToEmit++;
+            }
+            submitAll(next);    //아래쪽 버퍼가 가득 차면 자리가 날 때까지 기다림
+            if (!afterEmit(next.size())) {
+                return;
+            }
+        }
+    }
+
+    //내보낸 만큼 위쪽에 다시 요청, 마지막 묶음이면 완료
+    private boolean afterEmit(int size) {
+        Flow.Subscription subscription;
+        synchronized (lock) {
+            inFlightBatches--;
+            if (failed) {
+                return false;
+            }
+            if (upstreamDone && inFlightBatches == 0) {
+                finish();
+                return false;
+            }
+            subscription = upstream;
+        }
+        subscription.request(size);
+        return true;
+    }
+
+    private void submitAll(OrderBatchResult result) {
+        try {
+            for (int i = 0; i < result.size(); i++) {
+                submit(result.toOrder(i));
+            }
+        } catch (IllegalStateException e) {
+            //다른 묶음의 오류로 이미 닫혔으면 남은 주문은 버림
+        }
+    }
+
+    private void fail(RuntimeException e) {
+        Flow.Subscription subscription;
+        synchronized (lock) {
+            if (failed) {
+                return;
+            }
+            failed = true;
+            subscription = upstream;
+        }
+        subscription.cancel();
+        flusher.shutdownNow();
+        closeExceptionally(e);
+    }
+
+    private void finish() {
+        flusher.shutdownNow();
+        close();
+    }
+}
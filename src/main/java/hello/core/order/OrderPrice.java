@@ -0,0 +1,28 @@
+package hello.core.order;
+
+/**
+ * 주문 금액과 할인 금액을 long 하나에 담아서 다루는 유틸리티
+ * 상위 32 bit : 주문 금액(itemPrice), 하위 32 bit : 할인 금액(discountPrice)
+ * Order 객체를 만들지 않고 가격만 계산할 때 사용 -> 호출할 때마다 생기는 객체가 없음
+ */
+public final class OrderPrice {
+
+    private OrderPrice() {
+    }
+
+    public static long of(int itemPrice, int discountPrice) {
+        return ((long) itemPrice << 32) | (discountPrice & 0xFFFFFFFFL);
+    }
+
+    public static int itemPrice(long orderPrice) {
+        return (int) (orderPrice >>> 32);
+    }
+
+    public static int discountPrice(long orderPrice) {
+        return (int) orderPrice;
+    }
+
+    public static int calculatePrice(long orderPrice) {
+        return itemPrice(orderPrice) - discountPrice(orderPrice);
+    }
+}
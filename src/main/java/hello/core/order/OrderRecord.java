@@ -0,0 +1,65 @@
+package hello.core.order;
+
+import java.nio.ByteBuffer;
+
+/**
+ * OrderCodec 으로 쓴 레코드를 객체 생성 없이 읽는 flyweight
+ * 버퍼와 위치만 가리키므로 하나를 만들어두고 wrap 으로 위치를 옮겨가며 재사용
+ * 값은 읽기만 하고 (절대 위치로 읽어서 버퍼의 position 도 바꾸지 않음) 버퍼 내용이 바뀌면 읽는 값도 바뀜
+ *
+ * 같은 OrderRecord 를 여러 스레드가 함께 사용하면 안 됨
+ */
+public final class OrderRecord {
+
+    private ByteBuffer buffer;
+    private int offset;
+
+    /**
+     * @param offset 레코드가 시작하는 절대 위치
+     */
+    public OrderRecord wrap(ByteBuffer buffer, int offset) {
+        if (offset < 0 || offset + OrderCodec.RECORD_BYTES > buffer.limit()) {
+            throw new IndexOutOfBoundsException("offset = " + offset + ", limit = " + buffer.limit());
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * 버퍼의 index 번째 레코드로 이동 (0 번째 레코드는 위치 0 에서 시작)
+     */
+    public OrderRecord wrapAt(ByteBuffer buffer, int index) {
+        return wrap(buffer, index * OrderCodec.RECORD_BYTES);
+    }
+
+    public long getMemberId() {
+        return buffer.getLong(offset + OrderCodec.MEMBER_ID_OFFSET);
+    }
+
+    public int getItemId() {
+        return buffer.getInt(offset + OrderCodec.ITEM_ID_OFFSET);
+    }
+
+    public int getItemPrice() {
+        return buffer.getInt(offset + OrderCodec.ITEM_PRICE_OFFSET);
+    }
+
+    public int getDiscountPrice() {
+        return buffer.getInt(offset + OrderCodec.DISCOUNT_PRICE_OFFSET);
+    }
+
+    public int calculatePrice() {
+        return getItemPrice() - getDiscountPrice();
+    }
+
+    @Override
+    public String toString() {
+        return "OrderRecord{" +
+                "memberId=" + getMemberId() +
+                ", itemId=" + getItemId() +
+                ", itemPrice=" + getItemPrice() +
+                ", discountPrice=" + getDiscountPrice() +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package hello.core.order;
+
+/**
+ * OrderPipeline 으로 들어오는 주문 요청
+ */
+public final class OrderRequest {
+
+    private final long memberId;
+    private final String itemName;
+    private final int itemPrice;
+
+    public OrderRequest(long memberId, String itemName, int itemPrice) {
+        this.memberId = memberId;
+        this.itemName = itemName;
+        this.itemPrice = itemPrice;
+    }
+
+    public long getMemberId() {
+        return memberId;
+    }
+
+    public String getItemName() {
+        return itemName;
+    }
+
+    public int getItemPrice() {
+        return itemPrice;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderRequest{" +
+                "memberId=" + memberId +
+                ", itemName='" + itemName + '\'' +
+                ", itemPrice=" + itemPrice +
+                '}';
+    }
+}
@@ -3,4 +3,26 @@ package hello.core.order;
 public interface OrderService {
 
     Order createOrder(Long memberId, String itemName, int itemPrice);
+
+    /**
+     * 지정한 할인 코드의 정책으로 주문 생성
+     * @param discountCodeId DiscountService.resolveCode 로 미리 받아둔 번호
+     */
+    Order createOrder(Long memberId, String itemName, int itemPrice, int discountCodeId);
+
+    /**
+     * 상품명 대신 ItemDictionary 의 상품 번호로 주문 생성
+     */
+    Order createOrder(Long memberId, int itemId, int itemPrice);
+
+    /**
+     * Order 를 만들지 않고 가격만 계산
+     * @return OrderPrice 로 묶은 주문 금액과 할인 금액
+     */
+    long priceOrder(long memberId, int itemPrice);
+
+    /**
+     * 같은 인덱스끼리 하나의 주문, 회원은 저장소에서 한번에 조회
+     */
+    OrderBatchResult createOrders(long[] memberIds, String[] itemNames, int[] itemPrices);
 }
@@ -2,6 +2,7 @@ package hello.core.order;
 
 import hello.core.annotation.MainDiscountPolicy;
 import hello.core.discount.DiscountPolicy;
+import hello.core.discount.DiscountService;
 import hello.core.discount.FixDiscountPolicy;
 import hello.core.discount.RateDiscountPolicy;
 import hello.core.member.Member;
@@ -12,6 +13,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+
 @Component
 //@RequiredArgsConstructor    //final 필드들의 생성자를 만들어줌, 실제 컴파일된 class 파일 통해 확인 가능
 public class OrderServiceImpl implements OrderService {
@@ -41,6 +44,10 @@ public class OrderServiceImpl implements OrderService {
 
     private final MemberRepository memberRepository;
     private final DiscountPolicy discountPolicy;
+    private DiscountService discountService;
+    private ItemDictionary itemDictionary;
+    private OrderJournal orderJournal;
+    private OrderAggregator orderAggregator;
 
     //생성자를 통해서 주입
     //생성자가 딱 1개만 있으면 @Autowired 를 생략해도 자동 주입생성자가 딱 1개만 있으면 @Autowired 를 생략해도 자동 주입
@@ -57,12 +64,127 @@ public class OrderServiceImpl implements OrderService {
         this.discountPolicy = discountPolicy;
     }
 
+    //할인 코드 주문을 쓸 때만 필요하므로 선택적 수정자 주입, 빈이 없으면 호출되지 않음
+    @Autowired(required = false)
+    public void setDiscountService(DiscountService discountService) {
+        this.discountService = discountService;
+    }
+
+    @Autowired(required = false)
+    public void setItemDictionary(ItemDictionary itemDictionary) {
+        this.itemDictionary = itemDictionary;
+    }
+
+    //주문 기록이 필요할 때만 OrderJournal 빈을 등록
+    //저널은 상품명을 자기 ItemDictionary 로 번호를 붙여서 함께 남기므로 이 서비스에 사전이 없어도 replay 에서 상품명을 찾을 수 있음
+    @Autowired(required = false)
+    public void setOrderJournal(OrderJournal orderJournal) {
+        this.orderJournal = orderJournal;
+    }
+
+    @Autowired(required = false)
+    public void setOrderAggregator(OrderAggregator orderAggregator) {
+        this.orderAggregator = orderAggregator;
+    }
+
     @Override
     public Order createOrder(Long memberId, String itemName, int itemPrice) {
         Member member = memberRepository.findById(memberId);
-        int discountPrice = discountPolicy.discount(member, itemPrice);
+        int discountPrice = discountPolicy.discount(member, itemName, itemPrice);
+
+        return created(member, new Order(memberId, itemName, itemPrice, discountPrice));
+    }
+
+    @Override
+    public Order createOrder(Long memberId, String itemName, int itemPrice, int discountCodeId) {
+        if (discountService == null) {
+            throw new IllegalStateException("할인 코드로 주문하려면 DiscountService 가 필요합니다.");
+        }
+        Member member = memberRepository.findById(memberId);
+        int discountPrice = discountService.discount(member, itemName, itemPrice, discountCodeId);
+
+        return created(member, new Order(memberId, itemName, itemPrice, discountPrice));
+    }
+
+    @Override
+    public Order createOrder(Long memberId, int itemId, int itemPrice) {
+        if (itemDictionary == null) {
+            throw new IllegalStateException("상품 번호로 주문하려면 ItemDictionary 가 필요합니다.");
+        }
+        String itemName = itemDictionary.nameOf(itemId);
+        Member member = memberRepository.findById(memberId);
+        int discountPrice = discountPolicy.discount(member, itemName, itemPrice);
+
+        return created(member, new Order(memberId, itemId, itemName, itemPrice, discountPrice));
+    }
+
+    //memberRepository 가 findById(long) 을 박싱 없이 구현하면(LongKeyMemberRepository 등) 호출당 할당이 없음
+    @Override
+    public long priceOrder(long memberId, int itemPrice) {
+        Member member = memberRepository.findById(memberId);
+        return OrderPrice.of(itemPrice, discountPolicy.discount(member, itemPrice));
+    }
+
+    @Override
+    public OrderBatchResult createOrders(long[] memberIds, String[] itemNames, int[] itemPrices) {
+        Member[] members = findMembers(memberIds, itemNames, itemPrices);
+        int[] discountPrices = new int[itemPrices.length];
+        discountRange(members, itemNames, itemPrices, discountPrices, 0, itemPrices.length);
+        return recordOrders(members, memberIds, itemNames, itemPrices, discountPrices);
+    }
+
+    //주문 묶음 처리는 회원 조회 -> 할인 계산 -> 기록 세 단계, ParallelOrderService 는 할인 계산만 나눠서 호출
+
+    //묶음의 회원을 모두 찾음, 없는 회원이 하나라도 있으면 아무것도 기록하기 전에 실패
+    Member[] findMembers(long[] memberIds, String[] itemNames, int[] itemPrices) {
+        if (memberIds.length != itemNames.length || memberIds.length != itemPrices.length) {
+            throw new IllegalArgumentException("주문 배열의 길이가 다릅니다.");
+        }
+        Member[] members = memberRepository.findAllById(memberIds);
+        for (int i = 0; i < members.length; i++) {
+            if (members[i] == null) {
+                throw new IllegalArgumentException("회원을 찾을 수 없습니다. memberId = " + memberIds[i]);
+            }
+        }
+        return members;
+    }
+
+    //[from, to) 구간의 할인 금액만 계산, 부수 효과가 없으므로 여러 스레드가 구간을 나눠서 호출해도 됨
+    void discountRange(Member[] members, String[] itemNames, int[] itemPrices, int[] discountPrices, int from, int to) {
+        if (from == 0 && to == itemPrices.length) {
+            discountPolicy.discountAll(members, itemNames, itemPrices, discountPrices);
+            return;
+        }
+        int[] slice = new int[to - from];
+        discountPolicy.discountAll(Arrays.copyOfRange(members, from, to), Arrays.copyOfRange(itemNames, from, to),
+                Arrays.copyOfRange(itemPrices, from, to), slice);
+        System.arraycopy(slice, 0, discountPrices, from, slice.length);
+    }
+
+    //할인 계산이 끝난 묶음 전체를 저널과 집계에 반영
+    OrderBatchResult recordOrders(Member[] members, long[] memberIds, String[] itemNames, int[] itemPrices, int[] discountPrices) {
+        if (orderJournal != null) {
+            for (int i = 0; i < itemPrices.length; i++) {
+                orderJournal.append(memberIds[i], itemNames[i], itemPrices[i], discountPrices[i]);
+            }
+        }
+        if (orderAggregator != null) {
+            for (int i = 0; i < itemPrices.length; i++) {
+                orderAggregator.record(members[i].getGrade(), memberIds[i], itemPrices[i], discountPrices[i]);
+            }
+        }
+        return new OrderBatchResult(memberIds, itemNames, itemPrices, discountPrices);
+    }
 
-        return new Order(memberId, itemName, itemPrice, discountPrice);
+    //생성된 주문을 저널에 남기고 집계에 반영
+    private Order created(Member member, Order order) {
+        if (orderJournal != null) {
+            orderJournal.append(order);
+        }
+        if (orderAggregator != null) {
+            orderAggregator.record(member.getGrade(), order.getMemberId(), order.getItemPrice(), order.getDiscountPrice());
+        }
+        return order;
     }
 
     //테스트 용도
@@ -0,0 +1,107 @@
+package hello.core.order;
+
+import hello.core.member.Member;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * createOrders 를 ForkJoinPool 로 나눠서 처리하는 OrderService 데코레이터
+ * OrderServiceImpl 의 할인 계산은 상태가 없고 회원 저장소도 동시 조회가 가능하므로 주문 묶음을 잘라서 동시에 계산해도 됨
+ *
+ * - 주문 수가 threshold 미만이면 나누지 않고 그대로 위임 (fork 비용이 더 큼)
+ * - 그 이상이면 회원을 먼저 모두 찾고(없는 회원이 있으면 아무것도 기록하지 않고 실패),
+ *   할인 계산만 threshold 이하가 될 때까지 반으로 나눠서 동시에 하고, 저널/집계 기록은 묶음 전체를 한번에 함
+ *   -> 조각마다 위임하면 한 조각이 실패해도 다른 조각의 주문은 이미 기록되어 일부만 반영됨
+ * - 나머지 메서드는 그대로 위임
+ *
+ * AppConfig 의 orderService() 에서 OrderServiceImpl 을 감싸서 사용
+ */
+public class ParallelOrderService implements OrderService {
+
+    private final OrderServiceImpl delegate;
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    public ParallelOrderService(OrderServiceImpl delegate, int threshold) {
+        this(delegate, ForkJoinPool.commonPool(), threshold);
+    }
+
+    public ParallelOrderService(OrderServiceImpl delegate, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold 는 1 이상이어야 합니다.");
+        }
+        this.delegate = delegate;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Order createOrder(Long memberId, String itemName, int itemPrice) {
+        return delegate.createOrder(memberId, itemName, itemPrice);
+    }
+
+    @Override
+    public Order createOrder(Long memberId, String itemName, int itemPrice, int discountCodeId) {
+        return delegate.createOrder(memberId, itemName, itemPrice, discountCodeId);
+    }
+
+    @Override
+    public Order createOrder(Long memberId, int itemId, int itemPrice) {
+        return delegate.createOrder(memberId, itemId, itemPrice);
+    }
+
+    @Override
+    public long priceOrder(long memberId, int itemPrice) {
+        return delegate.priceOrder(memberId, itemPrice);
+    }
+
+    @Override
+    public OrderBatchResult createOrders(long[] memberIds, String[] itemNames, int[] itemPrices) {
+        if (memberIds.length < threshold) {
+            return delegate.createOrders(memberIds, itemNames, itemPrices);
+        }
+        Member[] members = delegate.findMembers(memberIds, itemNames, itemPrices);
+        int[] discountPrices = new int[itemPrices.length];
+        pool.invoke(new DiscountTask(delegate, threshold, members, itemNames, itemPrices, discountPrices, 0, itemPrices.length));
+        return delegate.recordOrders(members, memberIds, itemNames, itemPrices, discountPrices);
+    }
+
+    //ForkJoinTask 가 Serializable 이라 붙임, 작업을 직렬화하지는 않음
+    private static final class DiscountTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final OrderServiceImpl orderService;
+        private final int threshold;
+        private final Member[] members;
+        private final String[] itemNames;
+        private final int[] itemPrices;
+        private final int[] discountPrices;
+        private final int from;
+        private final int to;
+
+        DiscountTask(OrderServiceImpl orderService, int threshold, Member[] members, String[] itemNames,
+                     int[] itemPrices, int[] discountPrices, int from, int to) {
+            this.orderService = orderService;
+            this.threshold = threshold;
+            this.members = members;
+            this.itemNames = itemNames;
+            this.itemPrices = itemPrices;
+            this.discountPrices = discountPrices;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                orderService.discountRange(members, itemNames, itemPrices, discountPrices, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new DiscountTask(orderService, threshold, members, itemNames, itemPrices, discountPrices, from, middle),
+                    new DiscountTask(orderService, threshold, members, itemNames, itemPrices, discountPrices, middle, to));
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package hello.core.web;
 
 import hello.core.common.MyLogger;
+import hello.core.common.ReactiveRequestLog;
+import hello.core.common.RequestLog;
+import hello.core.common.RequestLogHolder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import reactor.core.publisher.Mono;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -37,4 +42,36 @@ public class LogDemoController {
         logDemoService.logic("testId");
         return "OK";
     }
+
+    //RequestLogFilter 가 요청마다 넣어둔 RequestLog 사용, request 스코프 프록시를 거치지 않음
+    @RequestMapping("log-demo-direct")
+    @ResponseBody
+    public String logDemoDirect() {
+        RequestLogHolder.get().log("controller test");
+        logDemoService.logicDirect("testId");
+        return "OK";
+    }
+
+    //요청마다 millis 만큼 기다림, LogDemoLoadHarness 로 플랫폼 스레드 / 가상 스레드 처리량 비교
+    @RequestMapping("log-demo-blocking")
+    @ResponseBody
+    public String logDemoBlocking(HttpServletRequest request,
+                                  @RequestParam(defaultValue = "100") long millis) throws InterruptedException {
+        myLogger.setRequestURL(request.getRequestURL().toString());
+        myLogger.log("controller test");
+        logDemoService.logicBlocking("testId", millis);
+        return "OK";
+    }
+
+    //log-demo-blocking 과 같은 일을 하지만 Mono 를 반환하고 요청 스레드를 바로 돌려줌 (서블릿 비동기 처리)
+    //요청 스레드에서만 RequestLogHolder 를 읽고, 이후에는 Reactor Context 로 RequestLog 를 넘김
+    @RequestMapping("log-demo-reactive")
+    @ResponseBody
+    public Mono<String> logDemoReactive(@RequestParam(defaultValue = "100") long millis) {
+        RequestLog requestLog = RequestLogHolder.get();
+        return ReactiveRequestLog.log("controller test")
+                .then(logDemoService.logicReactive("testId", millis))
+                .thenReturn("OK")
+                .subscriberContext(ReactiveRequestLog.with(requestLog));
+    }
 }
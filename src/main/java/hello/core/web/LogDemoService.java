@@ -1,9 +1,14 @@
 package hello.core.web;
 
 import hello.core.common.MyLogger;
+import hello.core.common.ReactiveRequestLog;
+import hello.core.common.RequestLogHolder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
 
 @Service
 @RequiredArgsConstructor
@@ -16,4 +21,22 @@ public class LogDemoService {
         //MyLogger myLogger = myLoggerProvider.getObject();
         myLogger.log("service id = " + id);
     }
+
+    //프록시 없이 현재 요청의 RequestLog 를 바로 사용
+    public void logicDirect(String id) {
+        RequestLogHolder.get().log("service id = " + id);
+    }
+
+    //외부 API 호출처럼 요청 스레드가 기다리는 작업을 흉내냄, 동시 처리량 비교용
+    public void logicBlocking(String id, long millis) throws InterruptedException {
+        myLogger.log("service id = " + id + ", thread = " + Thread.currentThread());
+        Thread.sleep(millis);
+    }
+
+    //logicBlocking 과 같은 기다림을 스레드를 잡지 않고 타이머로 처리, 로그 정보는 Reactor Context 에서 꺼냄
+    public Mono<Void> logicReactive(String id, long millis) {
+        return ReactiveRequestLog.log("service id = " + id)
+                .then(Mono.delay(Duration.ofMillis(millis)))
+                .then(Mono.defer(() -> ReactiveRequestLog.log("service done id = " + id + ", thread = " + Thread.currentThread())));
+    }
 }
@@ -0,0 +1,27 @@
+package hello.core.web;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 내장 톰캣이 요청을 가상 스레드에서 처리하도록 설정
+ * 기본 톰캣은 최대 200개의 플랫폼 스레드 풀을 쓰므로, LogDemoService 처럼 요청 처리 중에 기다리는 작업이 있으면
+ * 동시에 처리할 수 있는 요청 수가 스레드 수로 제한됨 -> 가상 스레드는 기다리는 동안 캐리어 스레드를 양보
+ *
+ * - hello.web.virtual-threads=true 일 때만 적용, Java 21 이상 런타임이 필요 (아니면 시작할 때 실패)
+ * - 요청 하나는 처음부터 끝까지 같은 가상 스레드에서 처리되므로 RequestContextHolder(ThreadLocal) 기반의
+ *   request 스코프 빈(MyLogger)과 RequestLogHolder 는 그대로 동작
+ *
+ * AutoAppConfig 는 @Configuration 을 스캔하지 않으므로 스프링 부트(CoreApplication)로 실행할 때만 등록됨
+ */
+@Configuration
+@ConditionalOnProperty(name = "hello.web.virtual-threads", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadExecutorCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor());
+    }
+}
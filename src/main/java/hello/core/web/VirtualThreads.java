@@ -0,0 +1,46 @@
+package hello.core.web;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 가상 스레드 실행기를 리플렉션으로 가져오는 유틸리티
+ * 빌드는 Java 11 기준이라 Executors.newVirtualThreadPerTaskExecutor 를 직접 호출할 수 없음
+ * Java 21 이상에서 실행할 때만 사용 가능, ./gradlew virtualThreadTest 가 Java 21 툴체인으로 검증
+ */
+public final class VirtualThreads {
+
+    private static final Method NEW_EXECUTOR = findNewExecutor();
+
+    private VirtualThreads() {
+    }
+
+    public static boolean isSupported() {
+        return NEW_EXECUTOR != null;
+    }
+
+    /**
+     * 작업마다 가상 스레드를 하나씩 만드는 실행기
+     * @throws IllegalStateException Java 21 미만에서 실행한 경우
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (NEW_EXECUTOR == null) {
+            throw new IllegalStateException("가상 스레드는 Java 21 이상에서 사용할 수 있습니다. java.version = "
+                    + System.getProperty("java.version"));
+        }
+        try {
+            return (ExecutorService) NEW_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 실행기를 만들 수 없습니다.", e);
+        }
+    }
+
+    private static Method findNewExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
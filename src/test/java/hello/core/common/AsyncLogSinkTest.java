@@ -0,0 +1,96 @@
+package hello.core.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncLogSinkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("BLOCK 정책은 여러 스레드가 남긴 로그를 하나도 버리지 않고 파일에 쓴다")
+    void block() throws Exception {
+        Path file = directory.resolve("request.log");
+        AsyncLogSink logSink = new AsyncLogSink(file, 16, AsyncLogSink.OverflowPolicy.BLOCK);
+
+        log(logSink, 4, 5_000);
+        logSink.close();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(20_000);
+        assertThat(lines.get(0)).matches("\\[uuid-\\d]\\[http://localhost/log-demo] message \\d+");
+        assertThat(logSink.getDroppedCount()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("DROP 정책은 버퍼가 가득 차면 버리고, 버린 수와 쓴 수의 합은 요청한 수와 같다")
+    void drop() throws Exception {
+        Path file = directory.resolve("request.log");
+        AsyncLogSink logSink = new AsyncLogSink(file, 2, AsyncLogSink.OverflowPolicy.DROP);
+
+        log(logSink, 4, 5_000);
+        logSink.close();
+
+        long lines = Files.readAllLines(file, StandardCharsets.UTF_8).size();
+        assertThat(lines).isEqualTo(logSink.getWrittenCount());
+        assertThat(lines + logSink.getDroppedCount()).isEqualTo(20_000);
+    }
+
+    @Test
+    @DisplayName("로그를 남기는 도중에 닫아도 받아들인 로그는 모두 쓰고 나머지는 버린 수로 센다")
+    void closeWhileLogging() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            Path file = directory.resolve("request-" + round + ".log");
+            AsyncLogSink logSink = new AsyncLogSink(file, 1024, AsyncLogSink.OverflowPolicy.BLOCK);
+            ExecutorService executorService = Executors.newFixedThreadPool(4);
+            LongAdder accepted = new LongAdder();
+            LongAdder requested = new LongAdder();
+            for (int t = 0; t < 4; t++) {
+                executorService.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        requested.increment();
+                        if (logSink.log("uuid", "http://localhost/log-demo", "message " + i)) {
+                            accepted.increment();
+                        }
+                    }
+                });
+            }
+            Thread.sleep(1);
+            logSink.close();
+            executorService.shutdown();
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+            long lines = Files.readAllLines(file, StandardCharsets.UTF_8).size();
+            assertThat(lines).isEqualTo(accepted.sum()).isEqualTo(logSink.getWrittenCount());
+            assertThat(lines + logSink.getDroppedCount()).isEqualTo(requested.sum());
+        }
+    }
+
+    private void log(AsyncLogSink logSink, int threads, int perThread) throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            String uuid = "uuid-" + t;
+            executorService.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    logSink.log(uuid, "http://localhost/log-demo", "message " + i);
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,43 @@
+package hello.core.common;
+
+import hello.core.AutoAppConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CorrelationIdGeneratorTest {
+
+    @Test
+    @DisplayName("빠른 생성기는 UUID version 7 형식의 겹치지 않는 식별자를 시간 순서로 만든다")
+    void fast() throws InterruptedException {
+        CorrelationIdGenerator generator = new FastCorrelationIdGenerator();
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(generator.nextId());
+        }
+        String first = generator.nextId();
+        Thread.sleep(2);
+        String later = generator.nextId();
+
+        UUID uuid = UUID.fromString(first);
+        assertThat(ids).hasSize(100_000);
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.toString()).isEqualTo(first);
+        assertThat(later).isGreaterThan(first);
+    }
+
+    @Test
+    @DisplayName("설정이 없으면 빠른 생성기가 빈으로 등록된다")
+    void defaultBean() {
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext(AutoAppConfig.class);
+
+        assertThat(ac.getBean(CorrelationIdGenerator.class)).isInstanceOf(FastCorrelationIdGenerator.class);
+    }
+}
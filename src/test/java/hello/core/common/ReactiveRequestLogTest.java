@@ -0,0 +1,61 @@
+package hello.core.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReactiveRequestLogTest {
+
+    @Test
+    @DisplayName("다른 스레드로 넘어가도 구독할 때 넣은 RequestLog 가 따라간다")
+    void followsSubscriber() {
+        Queue<String> lines = new ConcurrentLinkedQueue<>();
+
+        List<String> results = Flux.range(0, 100)
+                .flatMap(i -> Mono.delay(Duration.ofMillis(i % 5))
+                        .publishOn(Schedulers.parallel())
+                        .then(ReactiveRequestLog.log("message " + i))
+                        .then(ReactiveRequestLog.current())
+                        .map(RequestLog::getUuid)
+                        .subscriberContext(ReactiveRequestLog.with(new CapturingRequestLog("uuid-" + i, lines))))
+                .collectList()
+                .block();
+
+        assertThat(results).hasSize(100).doesNotHaveDuplicates();
+        assertThat(lines).hasSize(100);
+        for (int i = 0; i < 100; i++) {
+            assertThat(lines).contains("uuid-" + i + " message " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Context 에 RequestLog 가 없으면 예외")
+    void missing() {
+        assertThrows(IllegalStateException.class, () -> ReactiveRequestLog.log("message").block());
+    }
+
+    static class CapturingRequestLog extends RequestLog {
+
+        private final Queue<String> lines;
+
+        CapturingRequestLog(String uuid, Queue<String> lines) {
+            super(uuid, "http://localhost/log-demo-reactive");
+            this.lines = lines;
+        }
+
+        @Override
+        public void log(String message) {
+            lines.add(getUuid() + " " + message);
+        }
+    }
+}
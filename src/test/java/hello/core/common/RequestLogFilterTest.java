@@ -0,0 +1,67 @@
+package hello.core.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RequestLogFilterTest {
+
+    @Test
+    @DisplayName("요청을 처리하는 동안에만 RequestLog 를 꺼낼 수 있다")
+    void bindDuringRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/log-demo-direct");
+        AtomicReference<RequestLog> inRequest = new AtomicReference<>();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                inRequest.set(RequestLogHolder.get());
+            }
+        };
+
+        new RequestLogFilter().doFilter(request, new MockHttpServletResponse(), new MockFilterChain(servlet));
+
+        assertThat(inRequest.get().getRequestURL()).isEqualTo("http://localhost/log-demo-direct");
+        assertThat(inRequest.get().getUuid()).hasSize(36);
+        assertThrows(IllegalStateException.class, RequestLogHolder::get);
+    }
+
+    @Test
+    @DisplayName("AsyncLogSink 가 있으면 RequestLog 도 콘솔 대신 로그 파일에 남긴다")
+    void logSink(@TempDir Path directory) throws ServletException, IOException {
+        Path file = directory.resolve("request.log");
+        AsyncLogSink logSink = new AsyncLogSink(file, 16, AsyncLogSink.OverflowPolicy.BLOCK);
+        RequestLogFilter filter = new RequestLogFilter();
+        filter.setLogSink(logSink);
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                RequestLogHolder.get().log("controller test");
+            }
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/log-demo-direct"), new MockHttpServletResponse(),
+                new MockFilterChain(servlet));
+        logSink.close();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0)).endsWith("[http://localhost/log-demo-direct] controller test");
+    }
+}
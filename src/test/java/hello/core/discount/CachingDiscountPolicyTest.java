@@ -0,0 +1,59 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingDiscountPolicyTest {
+
+    Member vip = new Member(1L, "memberVIP", Grade.VIP);
+    Member basic = new Member(2L, "memberBASIC", Grade.BASIC);
+
+    @Test
+    @DisplayName("같은 등급과 가격은 한번만 계산한다")
+    void cache() {
+        CachingDiscountPolicy discountPolicy = new CachingDiscountPolicy(new RateDiscountPolicy(), 1024);
+
+        assertThat(discountPolicy.discount(vip, 10000)).isEqualTo(1000);
+        assertThat(discountPolicy.discount(new Member(3L, "otherVIP", Grade.VIP), 10000)).isEqualTo(1000);
+        assertThat(discountPolicy.discount(basic, 10000)).isEqualTo(0);
+
+        assertThat(discountPolicy.getHitCount()).isEqualTo(1);
+        assertThat(discountPolicy.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("칸이 부족하면 덮어쓰고, 다시 계산해도 결과는 같다")
+    void eviction() {
+        CachingDiscountPolicy discountPolicy = new CachingDiscountPolicy(new RateDiscountPolicy(), 4);
+
+        for (int round = 0; round < 2; round++) {
+            for (int price = 1000; price <= 100000; price += 1000) {
+                assertThat(discountPolicy.discount(vip, price)).isEqualTo(price / 10);
+            }
+        }
+        assertThat(discountPolicy.getMissCount()).isGreaterThan(100);
+    }
+
+    @Test
+    @DisplayName("원래 정책의 규칙이 바뀌면 캐시된 값을 쓰지 않는다")
+    void invalidateOnRuleChange() {
+        RuleDiscountPolicy rulePolicy = new RuleDiscountPolicy(Collections.singletonList(rule(1000)));
+        CachingDiscountPolicy discountPolicy = new CachingDiscountPolicy(rulePolicy, 1024);
+        assertThat(discountPolicy.discount(vip, 10000)).isEqualTo(1000);
+
+        rulePolicy.updateRules(Collections.singletonList(rule(3000)));
+
+        assertThat(discountPolicy.discount(vip, 10000)).isEqualTo(3000);
+    }
+
+    private DiscountRule rule(int amount) {
+        return DiscountRule.builder()
+                .name("vipFix").grade(Grade.VIP).type(DiscountRule.DiscountType.FIX).amount(amount).build();
+    }
+}
@@ -0,0 +1,60 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static hello.core.discount.CompositeDiscountPolicy.Mode.BEST_OF;
+import static hello.core.discount.CompositeDiscountPolicy.Mode.FIRST_MATCH;
+import static hello.core.discount.CompositeDiscountPolicy.Mode.STACK;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompositeDiscountPolicyTest {
+
+    Member vip = new Member(1L, "memberVIP", Grade.VIP);
+    Member basic = new Member(2L, "memberBASIC", Grade.BASIC);
+    List<DiscountPolicy> policies = Arrays.asList(new FixDiscountPolicy(), new RateDiscountPolicy());
+
+    @Test
+    @DisplayName("BEST_OF 는 가장 큰 할인, STACK 은 합계, FIRST_MATCH 는 처음 할인을 적용한다")
+    void modes() {
+        assertThat(new CompositeDiscountPolicy(BEST_OF, policies).discount(vip, 20000)).isEqualTo(2000);
+        assertThat(new CompositeDiscountPolicy(STACK, policies).discount(vip, 20000)).isEqualTo(3000);
+        assertThat(new CompositeDiscountPolicy(FIRST_MATCH, policies).discount(vip, 20000)).isEqualTo(1000);
+        assertThat(new CompositeDiscountPolicy(STACK, policies).discount(vip, 500)).isEqualTo(500);
+        assertThat(new CompositeDiscountPolicy(STACK, policies).discount(basic, 20000)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("등급에 해당하지 않는 정책은 계산하지 않고, 실행 시간을 정책별로 기록한다")
+    void chainAndLatency() {
+        CompositeDiscountPolicy discountPolicy = new CompositeDiscountPolicy(STACK, policies, true);
+
+        discountPolicy.discount(vip, 10000);
+        discountPolicy.discount(basic, 10000);
+
+        assertThat(discountPolicy.getLatency(0).getCount()).isEqualTo(1);
+        assertThat(discountPolicy.getLatency(1).getCount()).isEqualTo(1);
+        assertThat(discountPolicy.getLatency(1).getPercentileNanos(99)).isGreaterThan(0);
+    }
+
+    @Test
+    @DisplayName("규칙이 바뀌면 등급별 체인을 다시 만든다")
+    void rebuildOnRuleChange() {
+        RuleDiscountPolicy rulePolicy = new RuleDiscountPolicy(Collections.emptyList());
+        CompositeDiscountPolicy discountPolicy = new CompositeDiscountPolicy(BEST_OF,
+                Collections.singletonList(rulePolicy));
+        assertThat(discountPolicy.discount(basic, 10000)).isEqualTo(0);
+
+        rulePolicy.updateRules(Collections.singletonList(DiscountRule.builder()
+                .name("basicFix").grade(Grade.BASIC).type(DiscountRule.DiscountType.FIX).amount(500).build()));
+
+        assertThat(discountPolicy.discount(basic, 10000)).isEqualTo(500);
+        assertThat(discountPolicy.rulesVersion()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,63 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiscountRuleWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    Member vip = new Member(1L, "memberVIP", Grade.VIP);
+
+    @Test
+    @DisplayName("규칙 파일이 바뀌면 재시작 없이 새 할인율이 적용된다")
+    void reloadOnChange() throws IOException, InterruptedException {
+        Path rulesFile = writeRules(10);
+        RuleDiscountPolicy discountPolicy = new RuleDiscountPolicy(DiscountRules.load(rulesFile));
+        assertThat(discountPolicy.discount(vip, 10000)).isEqualTo(1000);
+
+        DiscountRuleWatcher watcher = new DiscountRuleWatcher(rulesFile, discountPolicy);
+        try {
+            writeRules(20);
+
+            //파일 감시는 비동기이므로 잠시 기다림
+            for (int i = 0; i < 100 && discountPolicy.discount(vip, 10000) != 2000; i++) {
+                Thread.sleep(50);
+            }
+            assertThat(discountPolicy.getVersion()).isGreaterThan(0);
+            assertThat(discountPolicy.discount(vip, 10000)).isEqualTo(2000);
+        } finally {
+            watcher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("잘못된 규칙으로 바뀌면 기존 규칙을 유지한다")
+    void keepPreviousRules() throws IOException {
+        Path rulesFile = writeRules(10);
+        RuleDiscountPolicy discountPolicy = new RuleDiscountPolicy(DiscountRules.load(rulesFile));
+
+        try (DiscountRuleWatcher watcher = new DiscountRuleWatcher(rulesFile, discountPolicy)) {
+            Files.writeString(rulesFile, "rule.vipRate.type=RATE\nrule.vipRate.amount=oops\n");
+
+            assertThat(watcher.reload()).isFalse();
+            assertThat(discountPolicy.discount(vip, 10000)).isEqualTo(1000);
+        }
+    }
+
+    private Path writeRules(int percent) throws IOException {
+        Path rulesFile = directory.resolve("discount-rules.properties");
+        Files.writeString(rulesFile, "rule.vipRate.grade=VIP\nrule.vipRate.type=RATE\nrule.vipRate.amount=" + percent + "\n");
+        return rulesFile;
+    }
+}
@@ -0,0 +1,46 @@
+package hello.core.discount;
+
+import hello.core.AutoAppConfig;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberService;
+import hello.core.order.Order;
+import hello.core.order.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DiscountServiceTest {
+
+    AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext(AutoAppConfig.class);
+    DiscountService discountService = ac.getBean(DiscountService.class);
+    Member member = new Member(1L, "userA", Grade.VIP);
+
+    @Test
+    @DisplayName("할인 코드는 이름순으로 번호가 붙고 번호로 정책을 선택한다")
+    void resolveCode() {
+        int fix = discountService.resolveCode("fixDiscountPolicy");
+        int rate = discountService.resolveCode("rateDiscountPolicy");
+
+        assertThat(fix).isEqualTo(0);
+        assertThat(rate).isEqualTo(1);
+        assertThat(discountService.codeOf(rate)).isEqualTo("rateDiscountPolicy");
+        assertThat(discountService.discount(member, "itemA", 20000, fix)).isEqualTo(1000);
+        assertThat(discountService.discount(member, "itemA", 20000, rate)).isEqualTo(2000);
+        assertThrows(IllegalArgumentException.class, () -> discountService.resolveCode("unknown"));
+    }
+
+    @Test
+    @DisplayName("주문할 때 할인 코드 번호를 넘기면 해당 정책으로 할인한다")
+    void createOrderWithDiscountCode() {
+        ac.getBean(MemberService.class).join(member);
+        OrderService orderService = ac.getBean(OrderService.class);
+
+        Order order = orderService.createOrder(1L, "itemA", 20000, discountService.resolveCode("fixDiscountPolicy"));
+
+        assertThat(order.getDiscountPrice()).isEqualTo(1000);
+    }
+}
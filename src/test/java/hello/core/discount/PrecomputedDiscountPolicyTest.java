@@ -0,0 +1,53 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrecomputedDiscountPolicyTest {
+
+    Member vip = new Member(1L, "memberVIP", Grade.VIP);
+    Member basic = new Member(2L, "memberBASIC", Grade.BASIC);
+
+    @Test
+    @DisplayName("표에 있는 가격은 원래 정책을 호출하지 않고 같은 할인 금액을 돌려준다")
+    void lookup() {
+        CountingDiscountPolicy delegate = new CountingDiscountPolicy();
+        DiscountPolicy discountPolicy = new PrecomputedDiscountPolicy(delegate, 100, 100_000);
+        int calls = delegate.calls.get();
+
+        for (int price = 0; price <= 100_000; price += 100) {
+            assertThat(discountPolicy.discount(vip, price)).isEqualTo(price * 10 / 100);
+            assertThat(discountPolicy.discount(basic, price)).isEqualTo(0);
+        }
+        assertThat(delegate.calls.get()).isEqualTo(calls);
+    }
+
+    @Test
+    @DisplayName("표 밖의 가격은 원래 정책으로 계산한다")
+    void fallback() {
+        CountingDiscountPolicy delegate = new CountingDiscountPolicy();
+        DiscountPolicy discountPolicy = new PrecomputedDiscountPolicy(delegate, 100, 100_000);
+        int calls = delegate.calls.get();
+
+        assertThat(discountPolicy.discount(vip, 12345)).isEqualTo(1234);
+        assertThat(discountPolicy.discount(vip, 200_000)).isEqualTo(20_000);
+        assertThat(delegate.calls.get()).isEqualTo(calls + 2);
+    }
+
+    static class CountingDiscountPolicy extends RateDiscountPolicy {
+
+        AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public int discount(Member member, int price) {
+            calls.incrementAndGet();
+            return super.discount(member, price);
+        }
+    }
+}
@@ -33,4 +33,35 @@ class RateDiscountPolicyTest {
         //then
         assertThat(discount).isEqualTo(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("여러 주문을 한번에 계산해도 VIP 만 10% 할인이 적용되어야 한다")
+    void discountAll() {
+        //given
+        Member[] members = {new Member(1L, "memberVIP", Grade.VIP), new Member(2L, "memberBASIC", Grade.BASIC)};
+        int[] prices = {10000, 10000};
+        int[] discountPrices = new int[2];
+        //when
+        discountPolicy.discountAll(members, new String[]{"itemA", "itemB"}, prices, discountPrices);
+        //then
+        assertThat(discountPrices).containsExactly(1000, 0);
+    }
+
+    @Test
+    @DisplayName("같은 회원이 이어지거나 바뀌어도 한번에 계산한 결과는 하나씩 계산한 결과와 같아야 한다")
+    void discountAllSameAsDiscount() {
+        //given
+        Member vip = new Member(1L, "memberVIP", Grade.VIP);
+        Member basic = new Member(2L, "memberBASIC", Grade.BASIC);
+        Member[] members = {vip, vip, basic, basic, vip};
+        int[] prices = {10000, 20000, 30000, 40000, 50000};
+        int[] discountPrices = new int[members.length];
+        //when
+        discountPolicy.discountAll(members, new String[members.length], prices, discountPrices);
+        //then
+        for (int i = 0; i < members.length; i++) {
+            assertThat(discountPrices[i]).isEqualTo(discountPolicy.discount(members[i], prices[i]));
+        }
+        assertThat(discountPrices).containsExactly(1000, 2000, 0, 0, 5000);
+    }
+}
@@ -0,0 +1,76 @@
+package hello.core.discount;
+
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RuleDiscountPolicyTest {
+
+    Member vip = new Member(1L, "memberVIP", Grade.VIP);
+    Member basic = new Member(2L, "memberBASIC", Grade.BASIC);
+
+    @Test
+    @DisplayName("기본 규칙 파일은 RateDiscountPolicy 와 같은 할인을 적용한다")
+    void defaultRules() {
+        DiscountPolicy discountPolicy = new RuleDiscountPolicy(DiscountRules.loadResource("discount-rules.properties"));
+
+        assertThat(discountPolicy.discount(vip, 10000)).isEqualTo(1000);
+        assertThat(discountPolicy.discount(basic, 10000)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("우선순위가 높은 규칙부터 평가하고, 겹칠 수 있는 규칙만 할인을 더한다")
+    void priorityAndStacking() {
+        List<DiscountRule> rules = List.of(
+                DiscountRule.builder().name("all").type(DiscountRule.DiscountType.FIX).amount(500)
+                        .priority(10).stackable(true).build(),
+                DiscountRule.builder().name("vipRate").grade(Grade.VIP).type(DiscountRule.DiscountType.RATE).amount(10)
+                        .priority(5).build(),
+                DiscountRule.builder().name("never").grade(Grade.VIP).type(DiscountRule.DiscountType.FIX).amount(9999)
+                        .priority(1).build());
+        DiscountPolicy discountPolicy = new RuleDiscountPolicy(rules);
+
+        assertThat(discountPolicy.discount(vip, 10000)).isEqualTo(500 + 1000);
+        assertThat(discountPolicy.discount(basic, 10000)).isEqualTo(500);
+        //할인 금액은 가격을 넘지 않음
+        assertThat(discountPolicy.discount(basic, 300)).isEqualTo(300);
+    }
+
+    @Test
+    @DisplayName("가격 범위와 상품명 조건에 맞는 경우에만 적용한다")
+    void priceRangeAndItem() {
+        Properties properties = new Properties();
+        properties.setProperty("rule.bigOrder.type", "fix");
+        properties.setProperty("rule.bigOrder.amount", "2000");
+        properties.setProperty("rule.bigOrder.minPrice", "50000");
+        properties.setProperty("rule.bigOrder.priority", "1");
+        properties.setProperty("rule.bookSale.type", "RATE");
+        properties.setProperty("rule.bookSale.amount", "20");
+        properties.setProperty("rule.bookSale.item", "book-.*");
+        properties.setProperty("rule.bookSale.priority", "2");
+        DiscountPolicy discountPolicy = new RuleDiscountPolicy(DiscountRules.load(properties));
+
+        assertThat(discountPolicy.discount(basic, "book-java", 10000)).isEqualTo(2000);
+        assertThat(discountPolicy.discount(basic, "pen", 10000)).isEqualTo(0);
+        assertThat(discountPolicy.discount(basic, "pen", 50000)).isEqualTo(2000);
+        //상품명을 모르면 상품 조건이 있는 규칙은 건너뜀
+        assertThat(discountPolicy.discount(basic, 10000)).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("잘못된 규칙 설정은 예외가 발생한다")
+    void invalidRule() {
+        Properties properties = new Properties();
+        properties.setProperty("rule.broken.type", "RATE");
+        properties.setProperty("rule.broken.amount", "150");
+
+        assertThrows(IllegalArgumentException.class, () -> new RuleDiscountPolicy(DiscountRules.load(properties)));
+    }
+}
@@ -0,0 +1,164 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingMemberRepositoryTest {
+
+    CountingMemberRepository delegate = new CountingMemberRepository();
+    AtomicLong clock = new AtomicLong();
+
+    @Test
+    @DisplayName("한번 조회한 회원은 저장소까지 가지 않는다")
+    void readThrough() {
+        CachingMemberRepository memberRepository = new CachingMemberRepository(delegate, 100, Duration.ZERO, clock::get);
+        delegate.save(new Member(1L, "memberA", Grade.VIP));
+
+        memberRepository.findById(1L);
+        memberRepository.findById(1L);
+        memberRepository.findById(1L);
+
+        assertThat(delegate.findCount.get()).isEqualTo(1);
+        assertThat(memberRepository.getHitCount()).isEqualTo(2);
+        assertThat(memberRepository.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("저장하면 저장소와 캐시에 함께 반영된다")
+    void writeThrough() {
+        CachingMemberRepository memberRepository = new CachingMemberRepository(delegate, 100, Duration.ZERO, clock::get);
+        Member member = new Member(1L, "memberA", Grade.VIP);
+
+        memberRepository.save(member);
+
+        assertThat(delegate.findById(1L)).isSameAs(member);
+        assertThat(memberRepository.findById(1L)).isSameAs(member);
+        assertThat(memberRepository.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("TTL 이 지나면 저장소에서 다시 읽는다")
+    void expire() {
+        CachingMemberRepository memberRepository = new CachingMemberRepository(delegate, 100, Duration.ofSeconds(10), clock::get);
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        memberRepository.findById(1L);
+        assertThat(delegate.findCount.get()).isEqualTo(0);
+
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        memberRepository.findById(1L);
+        assertThat(delegate.findCount.get()).isEqualTo(1);
+        assertThat(memberRepository.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 오래 안 쓴 엔트리를 제거한다")
+    void evict() {
+        CachingMemberRepository memberRepository = new CachingMemberRepository(delegate, 16, Duration.ZERO, clock::get);
+        for (long id = 1; id <= 1000; id++) {
+            memberRepository.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+
+        assertThat(memberRepository.size()).isLessThanOrEqualTo(16);
+        assertThat(memberRepository.getEvictionCount()).isGreaterThanOrEqualTo(1000 - 16);
+    }
+
+    @Test
+    @DisplayName("여러 건 조회시 캐시에 없는 회원만 저장소에서 한번에 읽는다")
+    void findAllById() {
+        CachingMemberRepository memberRepository = new CachingMemberRepository(delegate, 100, Duration.ZERO, clock::get);
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        delegate.save(new Member(2L, "memberB", Grade.BASIC));
+
+        Member[] members = memberRepository.findAllById(new long[]{1L, 2L, 3L});
+
+        assertThat(members[0].getName()).isEqualTo("memberA");
+        assertThat(members[1].getName()).isEqualTo("memberB");
+        assertThat(members[2]).isNull();
+        assertThat(delegate.findAllCount.get()).isEqualTo(1);
+        assertThat(memberRepository.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("두번 이상 조회한 회원은 한번씩 훑는 조회에 밀려나지 않는다")
+    void scanResistant() {
+        CachingMemberRepository memberRepository = new CachingMemberRepository(delegate, 16 * 10, Duration.ZERO, clock::get);
+        for (long id = 1; id <= 10_000; id++) {
+            delegate.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+        for (long id = 1; id <= 10; id++) {
+            memberRepository.findById(id);
+            memberRepository.findById(id);
+        }
+
+        for (long id = 1_001; id <= 10_000; id++) {
+            memberRepository.findById(id);
+        }
+        delegate.findCount.set(0);
+        for (long id = 1; id <= 10; id++) {
+            memberRepository.findById(id);
+        }
+
+        assertThat(delegate.findCount.get()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("무게의 합으로 크기를 제한한다")
+    void weigher() {
+        CachingMemberRepository memberRepository = new CachingMemberRepository(delegate, 16 * 100, Duration.ZERO,
+                member -> member.getName().length(), clock::get);
+        for (long id = 1; id <= 1000; id++) {
+            memberRepository.save(new Member(id, "member-" + id + "-" + "x".repeat(40), Grade.BASIC));
+        }
+
+        //이름이 50자 전후이므로 세그먼트(무게 100) 마다 1 ~ 2개만 남음
+        assertThat(memberRepository.size()).isLessThanOrEqualTo(16 * 2);
+        assertThat(memberRepository.getEvictionCount()).isGreaterThanOrEqualTo(1000 - 16 * 2);
+    }
+
+    @Test
+    @DisplayName("조회 도중 저장된 새 값을 늦게 끝난 조회가 예전 값으로 덮어쓰지 않는다")
+    void loadDoesNotOverwriteSave() {
+        Member oldMember = new Member(1L, "old", Grade.BASIC);
+        Member newMember = new Member(1L, "new", Grade.VIP);
+        delegate.save(oldMember);
+        CachingMemberRepository memberRepository = new CachingMemberRepository(delegate, 100, Duration.ZERO, clock::get);
+        //저장소에서 예전 값을 읽은 직후 다른 스레드가 새 값을 저장한 상황
+        delegate.afterFind = () -> memberRepository.save(newMember);
+
+        assertThat(memberRepository.findById(1L)).isSameAs(oldMember);
+        delegate.afterFind = null;
+
+        assertThat(memberRepository.findById(1L)).isSameAs(newMember);
+    }
+
+    static class CountingMemberRepository extends LongKeyMemberRepository {
+
+        AtomicInteger findCount = new AtomicInteger();
+        AtomicInteger findAllCount = new AtomicInteger();
+        Runnable afterFind;
+
+        @Override
+        public Member findById(long memberId) {
+            findCount.incrementAndGet();
+            Member member = super.findById(memberId);
+            if (afterFind != null) {
+                afterFind.run();
+            }
+            return member;
+        }
+
+        @Override
+        public Member[] findAllById(long[] memberIds) {
+            findAllCount.incrementAndGet();
+            return super.findAllById(memberIds);
+        }
+    }
+}
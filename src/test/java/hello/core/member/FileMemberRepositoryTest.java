@@ -0,0 +1,159 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileMemberRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("다시 열어도 저장했던 회원을 찾을 수 있다")
+    void reopen() {
+        try (FileMemberRepository memberRepository = new FileMemberRepository(directory)) {
+            memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+            memberRepository.save(new Member(2L, "memberB", Grade.BASIC));
+            memberRepository.save(new Member(1L, "memberA2", Grade.BASIC));
+        }
+
+        try (FileMemberRepository memberRepository = new FileMemberRepository(directory)) {
+            assertThat(memberRepository.size()).isEqualTo(2);
+            assertThat(memberRepository.findById(1L).getName()).isEqualTo("memberA2");
+            assertThat(memberRepository.findById(1L).getGrade()).isEqualTo(Grade.BASIC);
+            assertThat(memberRepository.findById(2L).getName()).isEqualTo("memberB");
+        }
+    }
+
+    @Test
+    @DisplayName("체크포인트 이후에 저장한 회원과 체크포인트가 없는 경우도 복구한다")
+    void recoverAfterCheckpoint() throws IOException {
+        FileMemberRepository memberRepository = new FileMemberRepository(directory);
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        memberRepository.checkpoint();
+        memberRepository.save(new Member(2L, "memberB", Grade.BASIC));
+        //close 하지 않고 종료된 상황
+
+        try (FileMemberRepository reopened = new FileMemberRepository(directory)) {
+            assertThat(reopened.findById(1L).getName()).isEqualTo("memberA");
+            assertThat(reopened.findById(2L).getName()).isEqualTo("memberB");
+        }
+
+        Files.delete(directory.resolve(FileMemberRepository.CHECKPOINT_FILE));
+        try (FileMemberRepository reopened = new FileMemberRepository(directory)) {
+            assertThat(reopened.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("잘린 레코드는 버리고 그 앞까지만 복구한다")
+    void truncatedRecord() throws IOException {
+        try (FileMemberRepository memberRepository = new FileMemberRepository(directory)) {
+            memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+            memberRepository.save(new Member(2L, "memberB", Grade.VIP));
+        }
+        Files.delete(directory.resolve(FileMemberRepository.CHECKPOINT_FILE));
+
+        //두번째 레코드의 이름 일부를 망가뜨림
+        Path logFile = directory.resolve(FileMemberRepository.LOG_FILE);
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), length.flip().getInt() * 2L - 1);
+        }
+
+        try (FileMemberRepository memberRepository = new FileMemberRepository(directory)) {
+            assertThat(memberRepository.findById(1L).getName()).isEqualTo("memberA");
+            assertThat(memberRepository.findById(2L)).isNull();
+
+            memberRepository.save(new Member(3L, "memberC", Grade.BASIC));
+            assertThat(memberRepository.findById(3L).getName()).isEqualTo("memberC");
+        }
+    }
+
+    @Test
+    @DisplayName("길이가 0 인 잘린 레코드 뒤에 남은 레코드는 지워서 다음에 다시 열 때 살아나지 않는다")
+    void staleRecordAfterTornRecord() throws IOException {
+        FileMemberRepository memberRepository = new FileMemberRepository(directory);
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        memberRepository.checkpoint();
+        memberRepository.save(new Member(1L, "memberX", Grade.BASIC));
+        memberRepository.save(new Member(1L, "memberY", Grade.BASIC));
+        //close 하지 않고 종료, 두번째 레코드는 디스크에 내려가지 못하고 세번째 레코드만 남은 상황
+
+        Path logFile = directory.resolve(FileMemberRepository.LOG_FILE);
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            channel.write(ByteBuffer.allocate(Integer.BYTES), length.flip().getInt());
+        }
+
+        try (FileMemberRepository reopened = new FileMemberRepository(directory)) {
+            assertThat(reopened.findById(1L).getName()).isEqualTo("memberA");
+            //잘린 레코드와 같은 길이의 레코드를 써서 다음 체크포인트가 예전 레코드 바로 앞에서 끝나게 함
+            reopened.save(new Member(2L, "memberB", Grade.VIP));
+        }
+
+        try (FileMemberRepository reopened = new FileMemberRepository(directory)) {
+            assertThat(reopened.findById(1L).getName()).isEqualTo("memberA");
+            assertThat(reopened.findById(2L).getName()).isEqualTo("memberB");
+            assertThat(reopened.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("컴팩션 후에는 마지막으로 저장한 값만 남는다")
+    void compact() {
+        try (FileMemberRepository memberRepository = new FileMemberRepository(directory)) {
+            for (int i = 0; i < 100; i++) {
+                memberRepository.save(new Member(1L, "memberA" + i, Grade.VIP));
+            }
+            memberRepository.save(new Member(2L, "memberB", Grade.BASIC));
+            assertThat(memberRepository.garbageRatio()).isGreaterThan(0.9);
+
+            memberRepository.compact();
+
+            assertThat(memberRepository.garbageRatio()).isEqualTo(0.0);
+            assertThat(memberRepository.findById(1L).getName()).isEqualTo("memberA99");
+            memberRepository.save(new Member(3L, "memberC", Grade.BASIC));
+        }
+
+        try (FileMemberRepository memberRepository = new FileMemberRepository(directory)) {
+            assertThat(memberRepository.size()).isEqualTo(3);
+            assertThat(memberRepository.findById(1L).getName()).isEqualTo("memberA99");
+            assertThat(memberRepository.findById(3L).getName()).isEqualTo("memberC");
+        }
+    }
+
+    @Test
+    @DisplayName("컴팩션을 여러번 한 뒤 체크포인트 없이 다시 열어도 컴팩션 사이에 저장한 회원이 남는다")
+    void compactTwiceThenRecover() throws IOException {
+        try (FileMemberRepository memberRepository = new FileMemberRepository(directory)) {
+            memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+            memberRepository.save(new Member(1L, "memberA2", Grade.VIP));
+            memberRepository.compact();
+            memberRepository.save(new Member(2L, "memberB", Grade.BASIC));
+            memberRepository.compact();
+            memberRepository.save(new Member(3L, "memberC", Grade.BASIC));
+            assertThat(memberRepository.garbageRatio()).isEqualTo(0.0);
+        }
+        Files.delete(directory.resolve(FileMemberRepository.CHECKPOINT_FILE));
+
+        try (FileMemberRepository memberRepository = new FileMemberRepository(directory)) {
+            assertThat(memberRepository.size()).isEqualTo(3);
+            assertThat(memberRepository.findById(1L).getName()).isEqualTo("memberA2");
+            assertThat(memberRepository.findById(2L).getName()).isEqualTo("memberB");
+            assertThat(memberRepository.findById(3L).getName()).isEqualTo("memberC");
+        }
+    }
+}
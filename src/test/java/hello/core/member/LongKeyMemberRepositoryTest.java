@@ -0,0 +1,78 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongKeyMemberRepositoryTest {
+
+    LongKeyMemberRepository memberRepository = new LongKeyMemberRepository();
+
+    @Test
+    @DisplayName("저장한 회원을 long id 로 조회할 수 있다")
+    void saveAndFind() {
+        Member member = new Member(1L, "memberA", Grade.VIP);
+        memberRepository.save(member);
+
+        assertThat(memberRepository.findById(1L)).isSameAs(member);
+        assertThat(memberRepository.findById(Long.valueOf(1L))).isSameAs(member);
+        assertThat(memberRepository.findById(2L)).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 id 로 저장하면 덮어쓰고, id 0 도 저장할 수 있다")
+    void overwriteAndZeroKey() {
+        memberRepository.save(new Member(0L, "zero", Grade.BASIC));
+        memberRepository.save(new Member(7L, "before", Grade.BASIC));
+        memberRepository.save(new Member(7L, "after", Grade.VIP));
+
+        assertThat(memberRepository.findById(0L).getName()).isEqualTo("zero");
+        assertThat(memberRepository.findById(7L).getName()).isEqualTo("after");
+        assertThat(memberRepository.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("여러 회원을 한번에 저장하고 요청한 순서대로 조회한다")
+    void saveAllAndFindAll() {
+        List<Member> members = new ArrayList<>();
+        for (long id = 0; id < 1000; id++) {
+            members.add(new Member(id, "member" + id, Grade.BASIC));
+        }
+
+        memberRepository.saveAll(members);
+        Member[] findMembers = memberRepository.findAllById(new long[]{999L, 0L, 1000L, 500L});
+
+        assertThat(memberRepository.size()).isEqualTo(1000);
+        assertThat(findMembers).containsExactly(members.get(999), members.get(0), null, members.get(500));
+    }
+
+    @Test
+    @DisplayName("테이블이 커지는 동안에도 동시에 저장한 회원을 모두 찾을 수 있다")
+    void concurrentSave() throws InterruptedException {
+        int threads = 4;
+        int perThread = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * perThread;
+            executorService.submit(() -> {
+                for (long id = base + 1; id <= base + perThread; id++) {
+                    memberRepository.save(new Member(id, "member" + id, Grade.BASIC));
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(memberRepository.size()).isEqualTo(threads * perThread);
+        for (long id = 1; id <= threads * perThread; id++) {
+            assertThat(memberRepository.findById(id).getId()).isEqualTo(id);
+        }
+    }
+}
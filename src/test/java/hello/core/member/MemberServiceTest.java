@@ -4,6 +4,9 @@ import hello.core.AppConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -30,4 +33,20 @@ class MemberServiceTest {
         //then
         assertThat(member).isEqualTo(findMember);
     }
-}
\ No newline at end of file
+
+    @Test
+    void joinAll() {
+        //given
+        List<Member> members = new ArrayList<>();
+        for (long id = 100; id < 110; id++) {
+            members.add(new Member(id, "member" + id, Grade.BASIC));
+        }
+
+        //when
+        memberService.joinAll(members);
+        Member[] findMembers = memberService.findMembers(new long[]{105L, 999L, 100L});
+
+        //then
+        assertThat(findMembers).containsExactly(members.get(5), null, members.get(0));
+    }
+}
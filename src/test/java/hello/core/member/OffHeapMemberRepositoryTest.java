@@ -0,0 +1,55 @@
+package hello.core.member;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapMemberRepositoryTest {
+
+    //용량이 늘어나는 경우도 확인하기 위해 작게 시작
+    OffHeapMemberRepository memberRepository = new OffHeapMemberRepository(2, 8);
+
+    @Test
+    @DisplayName("힙 밖에 저장한 회원을 같은 값으로 다시 만들어서 반환한다")
+    void saveAndFind() {
+        memberRepository.save(new Member(1L, "회원A", Grade.VIP));
+        memberRepository.save(new Member(2L, null, null));
+
+        Member findMember = memberRepository.findById(1L);
+        assertThat(findMember.getId()).isEqualTo(1L);
+        assertThat(findMember.getName()).isEqualTo("회원A");
+        assertThat(findMember.getGrade()).isEqualTo(Grade.VIP);
+
+        Member emptyMember = memberRepository.findById(2L);
+        assertThat(emptyMember.getName()).isNull();
+        assertThat(emptyMember.getGrade()).isNull();
+        assertThat(memberRepository.findById(3L)).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 id 로 저장하면 등급과 이름을 덮어쓴다")
+    void overwrite() {
+        memberRepository.save(new Member(1L, "short", Grade.BASIC));
+        memberRepository.save(new Member(1L, "much longer name", Grade.VIP));
+        memberRepository.save(new Member(1L, "tiny", Grade.BASIC));
+
+        Member findMember = memberRepository.findById(1L);
+        assertThat(findMember.getName()).isEqualTo("tiny");
+        assertThat(findMember.getGrade()).isEqualTo(Grade.BASIC);
+        assertThat(memberRepository.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("처음 용량보다 많이 저장해도 모두 찾을 수 있다")
+    void grow() {
+        for (long id = 1; id <= 1000; id++) {
+            memberRepository.save(new Member(id, "member" + id, id % 2 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+
+        assertThat(memberRepository.size()).isEqualTo(1000);
+        for (long id = 1; id <= 1000; id++) {
+            assertThat(memberRepository.findById(id).getName()).isEqualTo("member" + id);
+        }
+    }
+}
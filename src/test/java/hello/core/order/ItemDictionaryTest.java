@@ -0,0 +1,70 @@
+package hello.core.order;
+
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemoryMemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ItemDictionaryTest {
+
+    ItemDictionary itemDictionary = new ItemDictionary();
+
+    @Test
+    @DisplayName("같은 상품명은 같은 번호를 받고 번호로 상품명을 찾는다")
+    void idOf() {
+        int itemA = itemDictionary.idOf("itemA");
+        int itemB = itemDictionary.idOf("itemB");
+
+        assertThat(itemDictionary.idOf("itemA")).isEqualTo(itemA);
+        assertThat(itemB).isEqualTo(itemA + 1);
+        assertThat(itemDictionary.nameOf(itemB)).isEqualTo("itemB");
+        assertThat(itemDictionary.findId("itemC")).isEqualTo(ItemDictionary.NOT_FOUND);
+        assertThrows(IllegalArgumentException.class, () -> itemDictionary.nameOf(2));
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 등록해도 상품명마다 번호는 하나다")
+    void concurrentRegister() throws InterruptedException {
+        int items = 10_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executorService.submit(() -> {
+                for (int i = 0; i < items; i++) {
+                    itemDictionary.idOf("item" + i);
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(itemDictionary.size()).isEqualTo(items);
+        for (int i = 0; i < items; i++) {
+            assertThat(itemDictionary.nameOf(itemDictionary.findId("item" + i))).isEqualTo("item" + i);
+        }
+    }
+
+    @Test
+    @DisplayName("상품 번호로 주문하면 사전의 상품명을 함께 사용한다")
+    void createOrderWithItemId() {
+        MemoryMemberRepository memberRepository = new MemoryMemberRepository();
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        OrderServiceImpl orderService = new OrderServiceImpl(memberRepository, new RateDiscountPolicy());
+        orderService.setItemDictionary(itemDictionary);
+        int itemId = itemDictionary.idOf(new String("itemA"));
+
+        Order order = orderService.createOrder(1L, itemId, 10000);
+
+        assertThat(order.getItemId()).isEqualTo(itemId);
+        assertThat(order.getItemName()).isSameAs(itemDictionary.nameOf(itemId));
+        assertThat(order.getDiscountPrice()).isEqualTo(1000);
+    }
+}
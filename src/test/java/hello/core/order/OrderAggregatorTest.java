@@ -0,0 +1,72 @@
+package hello.core.order;
+
+import hello.core.AutoAppConfig;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemberService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderAggregatorTest {
+
+    OrderAggregator orderAggregator = new OrderAggregator();
+
+    @Test
+    @DisplayName("등급별, 회원별로 할인 후 매출과 할인 금액을 누적한다")
+    void record() {
+        orderAggregator.record(Grade.VIP, 1L, 10000, 1000);
+        orderAggregator.record(Grade.VIP, 1L, 20000, 2000);
+        orderAggregator.record(Grade.BASIC, 0L, 5000, 0);
+
+        assertThat(orderAggregator.getRevenue(Grade.VIP)).isEqualTo(27000);
+        assertThat(orderAggregator.getDiscount(Grade.VIP)).isEqualTo(3000);
+        assertThat(orderAggregator.getOrderCount(Grade.BASIC)).isEqualTo(1);
+        assertThat(orderAggregator.getMemberRevenue(1L)).isEqualTo(27000);
+        assertThat(orderAggregator.getMemberOrderCount(1L)).isEqualTo(2);
+        assertThat(orderAggregator.getMemberRevenue(0L)).isEqualTo(5000);
+        assertThat(orderAggregator.getMemberDiscount(2L)).isEqualTo(0);
+        assertThat(orderAggregator.getMemberCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 기록해도 합계가 맞다")
+    void concurrentRecord() throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executorService.submit(() -> {
+                for (long id = 1; id <= 10_000; id++) {
+                    orderAggregator.record(Grade.BASIC, id, 1000, 100);
+                    orderAggregator.getMemberRevenue(id);
+                }
+            });
+        }
+        executorService.shutdown();
+        executorService.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(orderAggregator.getMemberCount()).isEqualTo(10_000);
+        assertThat(orderAggregator.getRevenue(Grade.BASIC)).isEqualTo(4 * 10_000 * 900L);
+        for (long id = 1; id <= 10_000; id++) {
+            assertThat(orderAggregator.getMemberRevenue(id)).isEqualTo(4 * 900);
+        }
+    }
+
+    @Test
+    @DisplayName("컴포넌트 스캔으로 주문 서비스에 연결된다")
+    void orderService() {
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext(AutoAppConfig.class);
+        ac.getBean(MemberService.class).join(new Member(901L, "memberA", Grade.VIP));
+
+        ac.getBean(OrderService.class).createOrder(901L, "itemA", 10000);
+
+        OrderAggregator aggregator = ac.getBean(OrderAggregator.class);
+        assertThat(aggregator.getMemberRevenue(901L)).isEqualTo(9000);
+        assertThat(aggregator.getDiscount(Grade.VIP)).isEqualTo(1000);
+    }
+}
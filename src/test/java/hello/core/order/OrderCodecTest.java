@@ -0,0 +1,52 @@
+package hello.core.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderCodecTest {
+
+    List<String> items = Arrays.asList("itemA", "itemB");
+
+    @Test
+    @DisplayName("쓴 주문을 OrderRecord 로 객체 생성 없이 읽고, Order 로도 되돌릴 수 있다")
+    void encodeAndRead() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(OrderCodec.RECORD_BYTES * 2);
+        OrderCodec.encode(buffer, new Order(1L, "itemB", 10000, 1000), items::indexOf);
+        OrderCodec.encode(buffer, 2L, 0, 20000, 0);
+        buffer.flip();
+
+        OrderRecord record = new OrderRecord().wrapAt(buffer, 1);
+        assertThat(record.getMemberId()).isEqualTo(2L);
+        assertThat(record.getItemId()).isEqualTo(0);
+        assertThat(record.calculatePrice()).isEqualTo(20000);
+        assertThat(record.wrapAt(buffer, 0).getDiscountPrice()).isEqualTo(1000);
+
+        assertThat(OrderCodec.recordCount(buffer)).isEqualTo(2);
+        Order order = OrderCodec.decode(buffer, items::get);
+        assertThat(order.getMemberId()).isEqualTo(1L);
+        assertThat(order.getItemName()).isEqualTo("itemB");
+        assertThat(order.calculatePrice()).isEqualTo(9000);
+    }
+
+    @Test
+    @DisplayName("묶음 결과는 공간이 모자라면 아무것도 쓰지 않는다")
+    void encodeBatch() {
+        OrderBatchResult result = new OrderBatchResult(new long[]{1L, 2L}, new String[]{"itemA", "itemB"},
+                new int[]{10000, 20000}, new int[]{1000, 2000});
+        ByteBuffer small = ByteBuffer.allocate(OrderCodec.RECORD_BYTES);
+        assertThrows(BufferOverflowException.class, () -> OrderCodec.encode(small, result, items::indexOf));
+        assertThat(small.position()).isEqualTo(0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(OrderCodec.RECORD_BYTES * 2);
+        OrderCodec.encode(buffer, result, items::indexOf);
+        assertThat(new OrderRecord().wrapAt(buffer, 1).getItemId()).isEqualTo(1);
+    }
+}
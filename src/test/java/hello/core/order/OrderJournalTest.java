@@ -0,0 +1,152 @@
+package hello.core.order;
+
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.Member;
+import hello.core.member.MemoryMemberRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("세그먼트를 넘겨가며 쓴 주문을 순서대로 다시 읽고, 다시 열면 이어서 쓴다")
+    void appendAndReplay() throws InterruptedException, IOException {
+        try (OrderJournal journal = new OrderJournal(directory, 4, Duration.ofMillis(1))) {
+            for (int i = 1; i <= 10; i++) {
+                journal.append(i, "item" + i % 3, i * 1000, i * 100);
+            }
+            journal.awaitDurable(10);
+            assertThat(journal.getDurableSequence()).isEqualTo(10);
+        }
+        try (OrderJournal journal = new OrderJournal(directory, 4, Duration.ofMillis(1))) {
+            assertThat(journal.getLastSequence()).isEqualTo(10);
+            assertThat(journal.append(11L, "itemA", 11000, 1100)).isEqualTo(11);
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        long count = OrderJournal.replay(directory, (sequence, record) -> {
+            sequences.add(sequence);
+            assertThat(record.getMemberId()).isEqualTo(sequence);
+            assertThat(record.calculatePrice()).isEqualTo((int) sequence * 900);
+        });
+
+        assertThat(count).isEqualTo(11);
+        assertThat(sequences).isSorted().startsWith(1L).endsWith(11L);
+        assertThat(segments()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("덜 쓴 슬롯은 버리고 그 앞까지만 읽는다")
+    void tornSlot() throws IOException {
+        OrderJournal journal = new OrderJournal(directory, 16, Duration.ofMillis(1));
+        journal.append(1L, "itemA", 1000, 100);
+        journal.append(2L, "itemA", 2000, 200);
+        journal.close();
+
+        //두번째 슬롯의 가격 일부를 망가뜨림
+        try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), OrderJournal.SLOT_BYTES + 20);
+        }
+
+        assertThat(OrderJournal.replay(directory, (sequence, record) -> { })).isEqualTo(1);
+        try (OrderJournal reopened = new OrderJournal(directory, 16, Duration.ofMillis(1))) {
+            assertThat(reopened.append(3L, "itemA", 3000, 300)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("덜 쓴 슬롯 뒤에 남은 슬롯은 다시 열 때 모두 지워서 나중에 이어진 기록처럼 읽히지 않는다")
+    void clearTailAfterTornSlot() throws IOException {
+        OrderJournal journal = new OrderJournal(directory, 16, Duration.ofMillis(1));
+        journal.append(1L, "itemA", 1000, 100);
+        journal.append(2L, "itemA", 2000, 200);
+        journal.append(3L, "itemA", 3000, 300);
+        journal.close();
+
+        //두번째 슬롯만 디스크에 내려가지 못한 상황 (세번째 슬롯은 CRC 가 맞는 채로 남음)
+        try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(OrderJournal.SLOT_BYTES), OrderJournal.SLOT_BYTES);
+        }
+
+        try (OrderJournal reopened = new OrderJournal(directory, 16, Duration.ofMillis(1))) {
+            assertThat(reopened.getLastSequence()).isEqualTo(1);
+            assertThat(reopened.append(4L, "itemA", 4000, 400)).isEqualTo(2);
+        }
+
+        List<Long> memberIds = new ArrayList<>();
+        OrderJournal.replay(directory, (sequence, record) -> memberIds.add(record.getMemberId()));
+        assertThat(memberIds).containsExactly(1L, 4L);
+        ByteBuffer third = ByteBuffer.allocate(OrderJournal.SLOT_BYTES);
+        try (FileChannel channel = FileChannel.open(segments().get(0), StandardOpenOption.READ)) {
+            channel.read(third, OrderJournal.SLOT_BYTES * 2L);
+        }
+        assertThat(third.array()).containsOnly(0);
+    }
+
+    @Test
+    @DisplayName("주문 서비스에 사전이 없어도 저널에 남긴 주문의 상품명을 replay 에서 찾을 수 있다")
+    void orderService() {
+        MemoryMemberRepository memberRepository = new MemoryMemberRepository();
+        memberRepository.save(new Member(1L, "memberA", Grade.VIP));
+        OrderServiceImpl orderService = new OrderServiceImpl(memberRepository, new RateDiscountPolicy());
+
+        try (OrderJournal journal = new OrderJournal(directory)) {
+            orderService.setOrderJournal(journal);
+            orderService.createOrder(1L, "itemA", 10000);
+            orderService.createOrders(new long[]{1L, 1L}, new String[]{"itemB", "itemA"}, new int[]{20000, 30000});
+        }
+
+        ItemDictionary items = OrderJournal.readItems(directory);
+        List<String> itemNames = new ArrayList<>();
+        OrderJournal.replay(directory, (sequence, record) -> itemNames.add(items.nameOf(record.getItemId())));
+        assertThat(itemNames).containsExactly("itemA", "itemB", "itemA");
+    }
+
+    @Test
+    @DisplayName("다시 열면 저장된 상품명이 같은 번호로 사전에 등록되고, 번호가 다른 사전은 거부한다")
+    void reopenItems() {
+        ItemDictionary itemDictionary = new ItemDictionary();
+        try (OrderJournal journal = new OrderJournal(directory, itemDictionary)) {
+            journal.append(1L, "itemA", 1000, 100);
+            journal.append(2L, itemDictionary.idOf("itemB"), 2000, 200);
+        }
+
+        ItemDictionary reopened = new ItemDictionary();
+        try (OrderJournal journal = new OrderJournal(directory, reopened)) {
+            assertThat(reopened.findId("itemA")).isEqualTo(itemDictionary.findId("itemA"));
+            assertThat(reopened.findId("itemB")).isEqualTo(itemDictionary.findId("itemB"));
+            journal.append(3L, "itemC", 3000, 300);
+        }
+        assertThat(OrderJournal.readItems(directory).size()).isEqualTo(3);
+
+        ItemDictionary other = new ItemDictionary();
+        other.idOf("itemB");
+        assertThrows(IllegalStateException.class, () -> new OrderJournal(directory, other));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(OrderJournal.SEGMENT_SUFFIX)).sorted().collect(Collectors.toList());
+        }
+    }
+}
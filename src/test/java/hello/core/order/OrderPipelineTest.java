@@ -0,0 +1,110 @@
+package hello.core.order;
+
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.LongKeyMemberRepository;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderPipelineTest {
+
+    LongKeyMemberRepository memberRepository = new LongKeyMemberRepository();
+    OrderService orderService = new OrderServiceImpl(memberRepository, new RateDiscountPolicy());
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    OrderPipelineTest() {
+        for (long id = 0; id < 100; id++) {
+            memberRepository.save(new Member(id, "member" + id, id % 2 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+    }
+
+    @Test
+    @DisplayName("ORDERED 모드는 요청 순서대로 가격이 계산된 주문을 내보낸다")
+    void ordered() throws Exception {
+        List<Order> orders = run(OrderPipeline.Mode.ORDERED, 10_000);
+
+        assertThat(orders).hasSize(10_000);
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            assertThat(order.getMemberId()).isEqualTo(i % 100);
+            assertThat(order.getItemPrice()).isEqualTo(1000 + i);
+            assertThat(order.getDiscountPrice()).isEqualTo(i % 2 == 0 ? (1000 + i) / 10 : 0);
+        }
+    }
+
+    @Test
+    @DisplayName("UNORDERED 모드도 모든 주문을 내보낸다")
+    void unordered() throws Exception {
+        List<Order> orders = run(OrderPipeline.Mode.UNORDERED, 10_000);
+
+        assertThat(orders).hasSize(10_000);
+        assertThat(orders.stream().mapToLong(Order::getItemPrice).sum())
+                .isEqualTo(10_000L * 1000 + 10_000L * 9_999 / 2);
+    }
+
+    @Test
+    @DisplayName("묶음이 차지 않아도 maxDelay 가 지나면 처리한다")
+    void flushOnDelay() throws Exception {
+        OrderPipeline pipeline = new OrderPipeline(orderService, executor, 100, 256,
+                Duration.ofMillis(10), OrderPipeline.Mode.ORDERED);
+        List<Order> orders = new CopyOnWriteArrayList<>();
+        pipeline.consume(orders::add);
+        SubmissionPublisher<OrderRequest> source = new SubmissionPublisher<>(executor, 256);
+        source.subscribe(pipeline);
+
+        source.submit(new OrderRequest(0L, "itemA", 10000));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (orders.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThat(orders).hasSize(1);
+        assertThat(orders.get(0).getDiscountPrice()).isEqualTo(1000);
+        source.close();
+    }
+
+    @Test
+    @DisplayName("없는 회원이 있으면 아래쪽에 오류를 알린다")
+    void error() {
+        OrderPipeline pipeline = new OrderPipeline(orderService, executor, 10, 64,
+                Duration.ofMillis(10), OrderPipeline.Mode.ORDERED);
+        CompletableFuture<Void> done = pipeline.consume(order -> { });
+        SubmissionPublisher<OrderRequest> source = new SubmissionPublisher<>(executor, 64);
+        source.subscribe(pipeline);
+
+        source.submit(new OrderRequest(-1L, "itemA", 10000));
+        source.close();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> done.get(5, TimeUnit.SECONDS));
+        assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<Order> run(OrderPipeline.Mode mode, int count) throws Exception {
+        OrderPipeline pipeline = new OrderPipeline(orderService, executor, 64, 256, Duration.ofMillis(5), mode);
+        List<Order> orders = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> done = pipeline.consume(orders::add);
+        SubmissionPublisher<OrderRequest> source = new SubmissionPublisher<>(executor, 256);
+        source.subscribe(pipeline);
+
+        for (int i = 0; i < count; i++) {
+            source.submit(new OrderRequest(i % 100, "item" + i, 1000 + i));
+        }
+        source.close();
+        done.get(10, TimeUnit.SECONDS);
+        return orders;
+    }
+}
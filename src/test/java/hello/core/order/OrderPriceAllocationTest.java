@@ -0,0 +1,65 @@
+package hello.core.order;
+
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.LongKeyMemberRepository;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * priceOrder 는 반복 호출해도 객체를 만들지 않아야 함
+ * HotSpot 의 스레드별 할당 바이트 수(com.sun.management.ThreadMXBean)로 확인
+ */
+class OrderPriceAllocationTest {
+
+    static final int CALLS = 100_000;
+
+    @Test
+    @DisplayName("가격 계산은 Order 를 만들지 않고 OrderPrice 로 결과를 돌려준다")
+    void priceOrder() {
+        OrderService orderService = orderService();
+
+        long orderPrice = orderService.priceOrder(1000L, 10000);
+
+        assertThat(OrderPrice.itemPrice(orderPrice)).isEqualTo(10000);
+        assertThat(OrderPrice.discountPrice(orderPrice)).isEqualTo(1000);
+        assertThat(OrderPrice.calculatePrice(orderPrice)).isEqualTo(9000);
+    }
+
+    @Test
+    @DisplayName("가격 계산을 반복해도 할당이 생기지 않는다")
+    void noAllocation() {
+        OrderService orderService = orderService();
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long sum = run(orderService);   //워밍업
+        threadMXBean.getThreadAllocatedBytes(threadId);
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        sum += run(orderService);
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat(sum).isEqualTo(2L * CALLS * 1000);
+        //측정 자체에서 생기는 약간의 할당만 허용, 호출당 1 byte 도 안 됨
+        assertThat(allocated).isLessThan(1024);
+    }
+
+    private long run(OrderService orderService) {
+        long sum = 0;
+        for (int i = 0; i < CALLS; i++) {
+            sum += OrderPrice.discountPrice(orderService.priceOrder(1000L, 10000));
+        }
+        return sum;
+    }
+
+    private OrderService orderService() {
+        LongKeyMemberRepository memberRepository = new LongKeyMemberRepository();
+        memberRepository.save(new Member(1000L, "memberA", Grade.VIP));
+        return new OrderServiceImpl(memberRepository, new RateDiscountPolicy());
+    }
+}
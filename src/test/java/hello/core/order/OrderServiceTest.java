@@ -40,4 +40,31 @@ class OrderServiceTest {
         assertThat(order.getDiscountPrice()).isEqualTo(1000);
     }
 
-}
\ No newline at end of file
+    @Test
+    void createOrders() {
+        //given
+        memberService.join(new Member(11L, "memberVIP", Grade.VIP));
+        memberService.join(new Member(12L, "memberBASIC", Grade.BASIC));
+
+        //when
+        OrderBatchResult result = orderService.createOrders(
+                new long[]{11L, 12L, 11L},
+                new String[]{"itemA", "itemB", "itemC"},
+                new int[]{10000, 10000, 20000});
+
+        //then
+        assertThat(result.size()).isEqualTo(3);
+        assertThat(result.getDiscountPrice(0)).isEqualTo(1000);
+        assertThat(result.getDiscountPrice(1)).isEqualTo(0);
+        assertThat(result.getDiscountPrice(2)).isEqualTo(2000);
+        assertThat(result.calculatePrice(2)).isEqualTo(18000);
+        assertThat(result.totalDiscountPrice()).isEqualTo(3000);
+        assertThat(result.toOrder(1).getItemName()).isEqualTo("itemB");
+    }
+
+    @Test
+    void createOrdersWithUnknownMember() {
+        assertThrows(IllegalArgumentException.class, () -> orderService.createOrders(
+                new long[]{-1L}, new String[]{"itemA"}, new int[]{10000}));
+    }
+}
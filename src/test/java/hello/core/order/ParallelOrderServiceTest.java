@@ -0,0 +1,78 @@
+package hello.core.order;
+
+import hello.core.discount.RateDiscountPolicy;
+import hello.core.member.Grade;
+import hello.core.member.LongKeyMemberRepository;
+import hello.core.member.Member;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParallelOrderServiceTest {
+
+    @Test
+    @DisplayName("나눠서 처리해도 한번에 처리한 것과 같은 할인 금액이 나와야 한다")
+    void sameAsSequential() {
+        LongKeyMemberRepository memberRepository = new LongKeyMemberRepository();
+        for (long id = 1; id <= 100; id++) {
+            memberRepository.save(new Member(id, "member" + id, id % 3 == 0 ? Grade.VIP : Grade.BASIC));
+        }
+        OrderServiceImpl sequential = new OrderServiceImpl(memberRepository, new RateDiscountPolicy());
+        ForkJoinPool pool = new ForkJoinPool(4);
+        OrderService parallel = new ParallelOrderService(sequential, pool, 64);
+
+        int size = 10_000;
+        long[] memberIds = new long[size];
+        String[] itemNames = new String[size];
+        int[] itemPrices = new int[size];
+        for (int i = 0; i < size; i++) {
+            memberIds[i] = i % 100 + 1;
+            itemNames[i] = "item" + i;
+            itemPrices[i] = (i + 1) * 10;
+        }
+
+        OrderBatchResult expected = sequential.createOrders(memberIds, itemNames, itemPrices);
+        OrderBatchResult actual = parallel.createOrders(memberIds, itemNames, itemPrices);
+        pool.shutdown();
+
+        assertThat(actual.size()).isEqualTo(size);
+        for (int i = 0; i < size; i++) {
+            assertThat(actual.getDiscountPrice(i)).isEqualTo(expected.getDiscountPrice(i));
+        }
+    }
+
+    @Test
+    @DisplayName("없는 회원이 섞여 있으면 어느 조각도 집계에 반영하지 않고 실패한다")
+    void unknownMember() {
+        LongKeyMemberRepository memberRepository = new LongKeyMemberRepository();
+        for (long id = 1; id <= 100; id++) {
+            memberRepository.save(new Member(id, "member" + id, Grade.BASIC));
+        }
+        OrderServiceImpl orderService = new OrderServiceImpl(memberRepository, new RateDiscountPolicy());
+        OrderAggregator orderAggregator = new OrderAggregator();
+        orderService.setOrderAggregator(orderAggregator);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        OrderService parallel = new ParallelOrderService(orderService, pool, 64);
+
+        int size = 1_000;
+        long[] memberIds = new long[size];
+        String[] itemNames = new String[size];
+        int[] itemPrices = new int[size];
+        for (int i = 0; i < size; i++) {
+            memberIds[i] = i % 100 + 1;
+            itemNames[i] = "item" + i;
+            itemPrices[i] = 10000;
+        }
+        memberIds[size - 1] = 999L;
+
+        assertThrows(IllegalArgumentException.class, () -> parallel.createOrders(memberIds, itemNames, itemPrices));
+        pool.shutdown();
+
+        assertThat(orderAggregator.getOrderCount(Grade.BASIC)).isEqualTo(0);
+        assertThat(orderAggregator.getMemberCount()).isEqualTo(0);
+    }
+}
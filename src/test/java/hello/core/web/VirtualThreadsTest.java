@@ -0,0 +1,88 @@
+package hello.core.web;
+
+import hello.core.AutoAppConfig;
+import hello.core.common.MyLogger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.RequestScope;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * ./gradlew virtualThreadTest 는 Java 21 툴체인에서 hello.virtual-threads.required=true 로 실행
+ * -> 가상 스레드를 쓸 수 없으면 건너뛰지 않고 실패
+ */
+class VirtualThreadsTest {
+
+    static final boolean REQUIRED = Boolean.getBoolean("hello.virtual-threads.required");
+
+    @Test
+    @DisplayName("virtualThreadTest 에서는 가상 스레드를 사용할 수 있어야 한다")
+    void required() {
+        assumeTrue(REQUIRED);
+
+        assertThat(VirtualThreads.isSupported())
+                .as("java.version = " + System.getProperty("java.version"))
+                .isTrue();
+    }
+
+    @Test
+    @DisplayName("Java 21 미만에서는 가상 스레드 실행기를 만들 수 없다")
+    void unsupported() {
+        assumeFalse(REQUIRED || VirtualThreads.isSupported());
+
+        assertThrows(IllegalStateException.class, VirtualThreads::newVirtualThreadPerTaskExecutor);
+    }
+
+    @Test
+    @DisplayName("가상 스레드에서 처리해도 요청마다 다른 request 스코프 빈을 사용한다")
+    void requestScopeOnVirtualThreads() throws Exception {
+        assumeTrue(REQUIRED || VirtualThreads.isSupported());
+        AnnotationConfigApplicationContext ac = new AnnotationConfigApplicationContext(AutoAppConfig.class);
+        ac.getBeanFactory().registerScope("request", new RequestScope());
+        MyLogger myLogger = ac.getBean(MyLogger.class);     //프록시, LogDemoController 에 주입되는 것과 같음
+
+        List<Future<Object>> results = new ArrayList<>();
+        ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+        try {
+            for (int i = 0; i < 100; i++) {
+                results.add(executor.submit(() -> {
+                    //톰캣이 요청마다 하는 일 (RequestContextFilter)
+                    ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+                    RequestContextHolder.setRequestAttributes(attributes);
+                    try {
+                        myLogger.setRequestURL("http://localhost/log-demo");
+                        myLogger.log("virtual thread = " + Thread.currentThread());
+                        return attributes.getAttribute("scopedTarget.myLogger", ServletRequestAttributes.SCOPE_REQUEST);
+                    } finally {
+                        attributes.requestCompleted();
+                        RequestContextHolder.resetRequestAttributes();
+                    }
+                }));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Set<Object> loggers = new HashSet<>();
+        for (Future<Object> result : results) {
+            loggers.add(result.get());
+        }
+        assertThat(loggers).hasSize(100).doesNotContainNull();
+        ac.close();
+    }
+}